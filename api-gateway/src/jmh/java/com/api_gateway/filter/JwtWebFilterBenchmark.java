@@ -0,0 +1,128 @@
+package com.api_gateway.filter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.WebFilterChain;
+
+import com.api_gateway.metrics.GatewayStageMetrics;
+import com.api_gateway.service.JwksKeyProvider;
+import com.api_gateway.service.JwtService;
+import com.api_gateway.service.SecurityService;
+import com.api_gateway.service.TokenRevocations;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+// Gateway authentication hot path against a stubbed chain and a canned user-service responder,
+// so the numbers cover only the gateway's own work. Run with the gc profiler (see the jmh profile).
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtWebFilterBenchmark {
+
+	private static final String VALIDATE_RESPONSE = "{\"valid\":true,\"username\":\"42\",\"roles\":[\"USER\",\"ADMIN\"]}";
+	private static final WebFilterChain CHAIN = exchange -> Mono.empty();
+
+	private JwtWebFilter cachedFilter;
+	private JwtWebFilter uncachedFilter;
+	private ServerHttpRequest request;
+	private MockServerWebExchange exchange;
+	private MockServerWebExchange anonymousExchange;
+	private Map<String, Object> validateResponse;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		// Every outbound call is answered in-process with the same validate-token body
+		WebClient.Builder webClient = WebClient.builder()
+				.exchangeFunction(clientRequest -> Mono.just(ClientResponse.create(HttpStatus.OK)
+						.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE).body(VALIDATE_RESPONSE)
+						.build()));
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		JwksKeyProvider keyProvider = new JwksKeyProvider(webClient, "http://user-service/jwks", Duration.ofHours(1));
+		GatewayStageMetrics stageMetrics = new GatewayStageMetrics(meterRegistry, 100);
+		// Never polled, so nothing is revoked
+		SecurityService securityService = new SecurityService(webClient, meterRegistry, 100, Duration.ofMinutes(5),
+				Duration.ofSeconds(30));
+		TokenRevocations revocations = new TokenRevocations(webClient, securityService, meterRegistry,
+				"http://user-service/revocations", Duration.ofSeconds(10));
+
+		JwtService cachingService = new JwtService(webClient, keyProvider, revocations, new ObjectMapper(), meterRegistry,
+				100_000, Duration.ofMinutes(5), Duration.ofSeconds(10));
+		// A zero-sized cache sends every token through the canned remote validation
+		JwtService nonCachingService = new JwtService(webClient, keyProvider, revocations, new ObjectMapper(),
+				meterRegistry, 0, Duration.ofMinutes(5), Duration.ofSeconds(10));
+		cachedFilter = new JwtWebFilter(cachingService, stageMetrics);
+		uncachedFilter = new JwtWebFilter(nonCachingService, stageMetrics);
+
+		String token = token();
+		request = MockServerHttpRequest.get("/api/product/getallproducts")
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + token).build();
+		exchange = MockServerWebExchange.from((MockServerHttpRequest) request);
+		anonymousExchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/product/getallproducts"));
+		validateResponse = Map.of("valid", true, "username", "42", "roles", List.of("USER", "ADMIN"));
+	}
+
+	@Benchmark
+	public String extractToken() {
+		return cachedFilter.extractTokenFromRequest(request);
+	}
+
+	@Benchmark
+	public List<SimpleGrantedAuthority> extractAuthorities() {
+		return cachedFilter.extractAuthorities(validateResponse);
+	}
+
+	@Benchmark
+	public void filterNoToken() {
+		cachedFilter.filter(anonymousExchange, CHAIN).block();
+	}
+
+	@Benchmark
+	public void filterCachedValidation() {
+		cachedFilter.filter(exchange, CHAIN).block();
+	}
+
+	@Benchmark
+	public void filterRemoteValidation() {
+		uncachedFilter.filter(exchange, CHAIN).block();
+	}
+
+	// No kid header, so validation always takes the remote (canned) path rather than local JWKS keys
+	private static String token() {
+		Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+		String header = encoder.encodeToString("{\"alg\":\"HS256\"}".getBytes(StandardCharsets.UTF_8));
+		String payload = encoder.encodeToString(
+				"{\"sub\":\"42\",\"exp\":4102444800}".getBytes(StandardCharsets.UTF_8));
+		return header + '.' + payload + '.' + encoder.encodeToString(new byte[32]);
+	}
+
+}
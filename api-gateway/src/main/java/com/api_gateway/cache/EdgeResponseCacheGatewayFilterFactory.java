@@ -0,0 +1,249 @@
+package com.api_gateway.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Caches successful GET responses at the edge with a per-route TTL and answers
+// If-None-Match with 304 from the cached strong ETag without contacting the backend.
+// Usage on a route: filters[0]=EdgeResponseCache=30s
+@Component
+public class EdgeResponseCacheGatewayFilterFactory
+		extends AbstractGatewayFilterFactory<EdgeResponseCacheGatewayFilterFactory.Config> {
+
+	private static final List<String> UNCACHED_HEADERS = List.of(HttpHeaders.TRANSFER_ENCODING,
+			HttpHeaders.CONNECTION, HttpHeaders.SET_COOKIE, HttpHeaders.DATE, HttpHeaders.CONTENT_LENGTH,
+			HttpHeaders.ETAG);
+
+	// Shared across routes so the memory bound is global; Caffeine's W-TinyLFU picks eviction victims
+	private final Cache<String, CachedResponse> cache;
+
+	// One upstream fetch per key at a time; followers wait for the leader's response
+	private final Map<String, CompletableFuture<CachedResponse>> inflight = new ConcurrentHashMap<>();
+
+	private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+	private final MeterRegistry meterRegistry;
+
+	public EdgeResponseCacheGatewayFilterFactory(MeterRegistry meterRegistry,
+			@Value("${gateway.response-cache.max-size:64MB}") DataSize maxSize) {
+		super(Config.class);
+		this.meterRegistry = meterRegistry;
+		this.cache = Caffeine.newBuilder().maximumWeight(maxSize.toBytes())
+				.weigher((String key, CachedResponse value) -> value.body().length + key.length())
+				.expireAfter(new ResponseExpiry()).build();
+		meterRegistry.gauge("gateway.response.cache.entries", cache, Cache::estimatedSize);
+	}
+
+	@Override
+	public List<String> shortcutFieldOrder() {
+		return List.of("ttl");
+	}
+
+	@Override
+	public GatewayFilter apply(Config config) {
+		// Must run before NettyWriteResponseFilter so the decorated response is the one written
+		return new OrderedGatewayFilter((exchange, chain) -> filter(exchange, chain, config),
+				NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1);
+	}
+
+	private Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain, Config config) {
+		if (!HttpMethod.GET.equals(exchange.getRequest().getMethod())) {
+			return chain.filter(exchange);
+		}
+		String routeId = routeId(exchange);
+		String key = routeId + ' ' + exchange.getRequest().getURI().getRawPath() + '?'
+				+ Optional.ofNullable(exchange.getRequest().getURI().getRawQuery()).orElse("");
+
+		CachedResponse cached = cache.getIfPresent(key);
+		if (cached != null) {
+			return serve(exchange, cached, routeId, "hit");
+		}
+
+		CompletableFuture<CachedResponse> promise = new CompletableFuture<>();
+		CompletableFuture<CachedResponse> leader = inflight.putIfAbsent(key, promise);
+		if (leader != null) {
+			return Mono.fromFuture(leader, true).map(Optional::of).defaultIfEmpty(Optional.empty())
+					.flatMap(response -> response.isPresent() ? serve(exchange, response.get(), routeId, "coalesced")
+							: chain.filter(exchange));
+		}
+
+		counter("gateway.response.cache", routeId, "miss").increment();
+		ServerHttpResponse capturing = new CapturingResponse(exchange.getResponse(), key, config.getTtl(), promise);
+		return chain.filter(exchange.mutate().response(capturing).build()).doFinally(signal -> {
+			inflight.remove(key, promise);
+			// Uncacheable or failed responses release the followers to call upstream themselves
+			promise.complete(null);
+		});
+	}
+
+	private Mono<Void> serve(ServerWebExchange exchange, CachedResponse cached, String routeId, String result) {
+		ServerHttpResponse response = exchange.getResponse();
+		response.getHeaders().setETag(cached.etag());
+		if (matches(exchange.getRequest().getHeaders().getIfNoneMatch(), cached.etag())) {
+			counter("gateway.response.cache", routeId, "not_modified").increment();
+			counter("gateway.response.cache.bytes.saved", routeId, "not_modified").increment(cached.body().length);
+			response.setStatusCode(HttpStatus.NOT_MODIFIED);
+			return response.setComplete();
+		}
+		counter("gateway.response.cache", routeId, result).increment();
+		counter("gateway.response.cache.bytes.saved", routeId, result).increment(cached.body().length);
+		response.setStatusCode(cached.status());
+		cached.headers().forEach((name, values) -> response.getHeaders().addAll(name, values));
+		response.getHeaders().setContentLength(cached.body().length);
+		return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+	}
+
+	private static boolean matches(List<String> ifNoneMatch, String etag) {
+		for (String candidate : ifNoneMatch) {
+			if ("*".equals(candidate) || etag.equals(candidate) || ("W/" + etag).equals(candidate)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static String routeId(ServerWebExchange exchange) {
+		Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+		return route != null ? route.getId() : "unknown";
+	}
+
+	private Counter counter(String name, String routeId, String result) {
+		return counters.computeIfAbsent(name + ':' + routeId + ':' + result,
+				k -> Counter.builder(name).tag("route", routeId).tag("result", result).register(meterRegistry));
+	}
+
+	private static String strongEtag(byte[] body) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+			return '"' + Base64.getUrlEncoder().withoutPadding().encodeToString(digest) + '"';
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 not available", e);
+		}
+	}
+
+	private static boolean cacheable(HttpStatus status, HttpHeaders headers) {
+		if (status != HttpStatus.OK || headers.containsKey(HttpHeaders.SET_COOKIE)) {
+			return false;
+		}
+		String cacheControl = Optional.ofNullable(headers.getCacheControl()).orElse("");
+		return !cacheControl.contains("no-store") && !cacheControl.contains("private");
+	}
+
+	// Buffers the upstream body once, stores it and writes the same bytes to the client
+	private class CapturingResponse extends ServerHttpResponseDecorator {
+		private final String key;
+		private final Duration ttl;
+		private final CompletableFuture<CachedResponse> promise;
+
+		CapturingResponse(ServerHttpResponse delegate, String key, Duration ttl,
+				CompletableFuture<CachedResponse> promise) {
+			super(delegate);
+			this.key = key;
+			this.ttl = ttl;
+			this.promise = promise;
+		}
+
+		@Override
+		public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+			HttpStatus status = getStatusCode() != null ? HttpStatus.resolve(getStatusCode().value()) : HttpStatus.OK;
+			if (status == null || !cacheable(status, getHeaders())) {
+				return super.writeWith(body);
+			}
+			return DataBufferUtils.join(Flux.from(body)).flatMap(joined -> {
+				byte[] bytes = new byte[joined.readableByteCount()];
+				joined.read(bytes);
+				DataBufferUtils.release(joined);
+
+				HttpHeaders headers = new HttpHeaders();
+				getHeaders().forEach((name, values) -> {
+					if (UNCACHED_HEADERS.stream().noneMatch(name::equalsIgnoreCase)) {
+						headers.addAll(name, values);
+					}
+				});
+				CachedResponse cached = new CachedResponse(status, HttpHeaders.readOnlyHttpHeaders(headers), bytes,
+						strongEtag(bytes), System.nanoTime() + ttl.toNanos());
+				cache.put(key, cached);
+				promise.complete(cached);
+
+				getHeaders().setETag(cached.etag());
+				return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+			});
+		}
+	}
+
+	record CachedResponse(HttpStatus status, HttpHeaders headers, byte[] body, String etag, long expiresAtNanos) {
+
+		@Override
+		public String toString() {
+			return "CachedResponse{status=" + status + ", bytes=" + body.length + ", etag=" + etag + "}";
+		}
+	}
+
+	private static class ResponseExpiry implements Expiry<String, CachedResponse> {
+
+		@Override
+		public long expireAfterCreate(String key, CachedResponse value, long currentTime) {
+			return Math.max(0, value.expiresAtNanos() - System.nanoTime());
+		}
+
+		@Override
+		public long expireAfterUpdate(String key, CachedResponse value, long currentTime, long currentDuration) {
+			return expireAfterCreate(key, value, currentTime);
+		}
+
+		@Override
+		public long expireAfterRead(String key, CachedResponse value, long currentTime, long currentDuration) {
+			return currentDuration;
+		}
+	}
+
+	public static class Config {
+
+		private Duration ttl = Duration.ofSeconds(30);
+
+		public Duration getTtl() {
+			return ttl;
+		}
+
+		public void setTtl(Duration ttl) {
+			this.ttl = ttl;
+		}
+	}
+
+}
@@ -0,0 +1,99 @@
+package com.api_gateway.concurrency;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+// Sheds requests with 503/Retry-After once a route's in-flight count reaches its adaptive limit,
+// before the load balancer picks an instance. Each route learns its own limit from observed RTTs.
+@Component
+public class AdaptiveConcurrencyLimitFilter implements GlobalFilter, Ordered {
+
+	private final Map<String, RouteLimiter> limiters = new ConcurrentHashMap<>();
+	private final MeterRegistry meterRegistry;
+
+	private final int initialLimit;
+	private final int minLimit;
+	private final int maxLimit;
+	private final double tolerance;
+	private final double smoothing;
+	private final String retryAfterSeconds;
+
+	public AdaptiveConcurrencyLimitFilter(MeterRegistry meterRegistry,
+			@Value("${gateway.concurrency.initial-limit:20}") int initialLimit,
+			@Value("${gateway.concurrency.min-limit:5}") int minLimit,
+			@Value("${gateway.concurrency.max-limit:500}") int maxLimit,
+			@Value("${gateway.concurrency.tolerance:1.5}") double tolerance,
+			@Value("${gateway.concurrency.smoothing:0.2}") double smoothing,
+			@Value("${gateway.concurrency.retry-after-seconds:1}") int retryAfterSeconds) {
+		this.meterRegistry = meterRegistry;
+		this.initialLimit = initialLimit;
+		this.minLimit = minLimit;
+		this.maxLimit = maxLimit;
+		this.tolerance = tolerance;
+		this.smoothing = smoothing;
+		this.retryAfterSeconds = String.valueOf(retryAfterSeconds);
+	}
+
+	@Override
+	public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+		Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+		if (route == null) {
+			return chain.filter(exchange);
+		}
+		RouteLimiter limiter = limiters.computeIfAbsent(route.getId(), this::newLimiter);
+
+		int inflightAtStart = limiter.limit.tryAcquire();
+		if (inflightAtStart < 0) {
+			limiter.shed.increment();
+			exchange.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+			exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+			return exchange.getResponse().setComplete();
+		}
+
+		long start = System.nanoTime();
+		return chain.filter(exchange).doFinally(signal -> {
+			limiter.limit.release();
+			// A cancelled request tells us nothing about the backend
+			if (signal != SignalType.CANCEL) {
+				limiter.limit.onSample(System.nanoTime() - start, inflightAtStart, signal == SignalType.ON_ERROR);
+			}
+		});
+	}
+
+	@Override
+	public int getOrder() {
+		return ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER - 1;
+	}
+
+	private RouteLimiter newLimiter(String routeId) {
+		GradientLimit limit = new GradientLimit(initialLimit, minLimit, maxLimit, tolerance, smoothing);
+		Gauge.builder("gateway.concurrency.limit", limit, GradientLimit::getLimit).tag("route", routeId)
+				.register(meterRegistry);
+		Gauge.builder("gateway.concurrency.inflight", limit, GradientLimit::getInflight).tag("route", routeId)
+				.register(meterRegistry);
+		Counter shed = Counter.builder("gateway.concurrency.shed").tag("route", routeId).register(meterRegistry);
+		return new RouteLimiter(limit, shed);
+	}
+
+	private record RouteLimiter(GradientLimit limit, Counter shed) {
+	}
+
+}
@@ -0,0 +1,84 @@
+package com.api_gateway.concurrency;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Gradient-style concurrency limit for one route. A long-term RTT average tracks the
+// backend's unloaded latency; when the latest RTT climbs above it the limit shrinks in
+// proportion, and while latency holds steady it grows by roughly sqrt(limit) per sample.
+class GradientLimit {
+
+	private static final double LONG_WINDOW = 600;
+
+	private final int minLimit;
+	private final int maxLimit;
+	private final double tolerance;
+	private final double smoothing;
+
+	private final AtomicInteger inflight = new AtomicInteger();
+	private volatile double limit;
+	private double longRttNanos;
+
+	GradientLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, double smoothing) {
+		this.limit = initialLimit;
+		this.minLimit = minLimit;
+		this.maxLimit = maxLimit;
+		this.tolerance = tolerance;
+		this.smoothing = smoothing;
+	}
+
+	// Returns the in-flight count including this request, or -1 when the request must be shed
+	int tryAcquire() {
+		while (true) {
+			int current = inflight.get();
+			if (current >= (int) limit) {
+				return -1;
+			}
+			if (inflight.compareAndSet(current, current + 1)) {
+				return current + 1;
+			}
+		}
+	}
+
+	void release() {
+		inflight.decrementAndGet();
+	}
+
+	synchronized void onSample(long rttNanos, int inflightAtStart, boolean dropped) {
+		double current = limit;
+		if (dropped) {
+			limit = Math.max(minLimit, current * 0.9);
+			return;
+		}
+		if (rttNanos <= 0) {
+			return;
+		}
+		double shortRtt = rttNanos;
+		if (longRttNanos == 0) {
+			longRttNanos = shortRtt;
+		} else {
+			longRttNanos += (shortRtt - longRttNanos) / LONG_WINDOW;
+		}
+		// Let the baseline fall faster after a sustained latency improvement
+		if (longRttNanos / shortRtt > 2) {
+			longRttNanos *= 0.95;
+		}
+		// The backend was not the bottleneck for this sample, so it says nothing about a higher limit
+		if (inflightAtStart < current / 2) {
+			return;
+		}
+		double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRttNanos / shortRtt));
+		double queueSize = Math.sqrt(current);
+		double target = current * gradient + queueSize;
+		double smoothed = current * (1 - smoothing) + target * smoothing;
+		limit = Math.max(minLimit, Math.min(maxLimit, smoothed));
+	}
+
+	int getLimit() {
+		return (int) limit;
+	}
+
+	int getInflight() {
+		return inflight.get();
+	}
+
+}
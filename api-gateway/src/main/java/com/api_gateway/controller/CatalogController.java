@@ -0,0 +1,30 @@
+package com.api_gateway.controller;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.api_gateway.dto.CatalogItemDTO;
+import com.api_gateway.service.CatalogService;
+
+import reactor.core.publisher.Flux;
+
+@RestController
+@RequestMapping("/api/catalog")
+public class CatalogController {
+
+	private final CatalogService catalogService;
+
+	public CatalogController(CatalogService catalogService) {
+		this.catalogService = catalogService;
+	}
+
+	// Products merged with stock; ask for application/x-ndjson to receive items as they are written
+	@GetMapping(value = "/products", produces = { MediaType.APPLICATION_JSON_VALUE,
+			MediaType.APPLICATION_NDJSON_VALUE })
+	public Flux<CatalogItemDTO> getCatalog() {
+		return catalogService.getCatalog();
+	}
+
+}
@@ -0,0 +1,30 @@
+package com.api_gateway.dto;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CatalogItemDTO {
+
+	public enum Availability {
+		IN_STOCK, OUT_OF_STOCK, UNKNOWN
+	}
+
+	private String id;
+	private String name;
+	private String description;
+	private BigDecimal price;
+	private String skuCode;
+
+	// Null when availability is UNKNOWN
+	private Integer quantity;
+
+	private Availability availability;
+}
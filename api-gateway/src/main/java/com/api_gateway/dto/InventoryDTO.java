@@ -0,0 +1,17 @@
+package com.api_gateway.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// inventory-service /api/inventory/getallitems item
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InventoryDTO {
+	private Long id;
+	private String skuCode;
+	private Integer quantity;
+}
@@ -0,0 +1,20 @@
+package com.api_gateway.dto;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// product-service /api/product/getallproducts item
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductDTO {
+	private String id;
+	private String name;
+	private String description;
+	private BigDecimal price;
+}
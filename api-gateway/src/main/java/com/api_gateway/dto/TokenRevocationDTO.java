@@ -0,0 +1,20 @@
+package com.api_gateway.dto;
+
+import java.time.Instant;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One entry of user-service's revocation feed; key is "jti:<token id>" or "sub:<subject>"
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenRevocationDTO {
+
+	private String key;
+
+	private Instant revokedAt;
+
+	private Instant expiresAt;
+}
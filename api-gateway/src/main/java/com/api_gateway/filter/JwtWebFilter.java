@@ -21,6 +21,7 @@ import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebFilter;
 import org.springframework.web.server.WebFilterChain;
 
+import com.api_gateway.metrics.GatewayStageMetrics;
 import com.api_gateway.service.JwtService;
 
 import io.jsonwebtoken.JwtException;
@@ -31,48 +32,75 @@ public class JwtWebFilter implements WebFilter {
 	Logger logger = LoggerFactory.getLogger(JwtWebFilter.class);
 
 	private final JwtService jwtService;
+	private final GatewayStageMetrics stageMetrics;
 
-	public JwtWebFilter(JwtService jwtService) {
+	public JwtWebFilter(JwtService jwtService, GatewayStageMetrics stageMetrics) {
 		this.jwtService = jwtService;
+		this.stageMetrics = stageMetrics;
 	}
 
+	// Stage timings are recorded once the chain completes, when routing has set the route id
 	@Override
 	public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
-		// Extract the token from the request
+		long extractStart = System.nanoTime();
 		String token = extractTokenFromRequest(exchange.getRequest());
-		System.out.println("Extracted Token: " + token);
-
-		if (token != null) {
-			System.out.println("Validating token...");
-			return jwtService.validateToken(token).flatMap(validateResponse -> {
-				if (Boolean.TRUE.equals(validateResponse.get("valid"))) {
-					List<SimpleGrantedAuthority> authorities;
-					try {
-						authorities = extractAuthorities(validateResponse);
-					} catch (ClassCastException e) {
-						// Handle case where roles are not in expected format
-						authorities = Collections.emptyList();
-					}
-					UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
-							validateResponse.get("userId"), null, authorities);
-
-					return chain.filter(exchange).contextWrite(ReactiveSecurityContextHolder.withAuthentication(auth));
-				} else {
-					exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
-					return exchange.getResponse().setComplete();
-				}
-			}).onErrorResume(JwtException.class, error -> {
-				// Log the error details
-				System.err.println("JWT Validation Error: " + error.getMessage());
-				return Mono.error(new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid JWT token"));
-			});
+		long extractNanos = System.nanoTime() - extractStart;
+
+		if (token == null) {
+			return chain.filter(exchange).doFinally(
+					signal -> stageMetrics.record(exchange, GatewayStageMetrics.EXTRACT, "absent", extractNanos));
 		}
-		// Log when no token is present in the request
-		System.out.println("No token found. Proceeding without authentication.");
-		return chain.filter(exchange);
+
+		long validateStart = System.nanoTime();
+		// Transport failures are recorded here, before the chain can add errors of its own
+		Mono<JwtService.Validation> pending = jwtService.validate(token).doOnError(
+				error -> !(error instanceof JwtException), error -> stageMetrics.record(exchange,
+						GatewayStageMetrics.VALIDATE, "error", GatewayStageMetrics.NO_SOURCE,
+						System.nanoTime() - validateStart));
+		return pending.flatMap(validation -> {
+			long validateNanos = System.nanoTime() - validateStart;
+			Map<String, Object> validateResponse = validation.response();
+			if (!Boolean.TRUE.equals(validateResponse.get("valid"))) {
+				recordAuthStages(exchange, extractNanos, validation.source(), "invalid", validateNanos);
+				exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+				return exchange.getResponse().setComplete();
+			}
+
+			long authorizeStart = System.nanoTime();
+			List<SimpleGrantedAuthority> authorities;
+			try {
+				authorities = extractAuthorities(validateResponse);
+			} catch (ClassCastException e) {
+				// Handle case where roles are not in expected format
+				authorities = Collections.emptyList();
+			}
+			// user-service reports the subject as "username"; rate limiting keys on this principal
+			Object principal = validateResponse.getOrDefault("userId", validateResponse.get("username"));
+			UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(principal, null,
+					authorities);
+			long authorizeNanos = System.nanoTime() - authorizeStart;
+
+			return chain.filter(exchange).contextWrite(ReactiveSecurityContextHolder.withAuthentication(auth))
+					.doFinally(signal -> {
+						recordAuthStages(exchange, extractNanos, validation.source(), "valid", validateNanos);
+						stageMetrics.record(exchange, GatewayStageMetrics.AUTHORIZE,
+								auth.getAuthorities().isEmpty() ? "no_roles" : "granted", authorizeNanos);
+					});
+		}).onErrorResume(JwtException.class, error -> {
+			logger.debug("JWT validation error: {}", error.getMessage());
+			recordAuthStages(exchange, extractNanos, GatewayStageMetrics.NO_SOURCE, "invalid",
+					System.nanoTime() - validateStart);
+			return Mono.error(new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid JWT token"));
+		});
+	}
+
+	private void recordAuthStages(ServerWebExchange exchange, long extractNanos, String source, String outcome,
+			long validateNanos) {
+		stageMetrics.record(exchange, GatewayStageMetrics.EXTRACT, "present", extractNanos);
+		stageMetrics.record(exchange, GatewayStageMetrics.VALIDATE, outcome, source, validateNanos);
 	}
 
-	private List<SimpleGrantedAuthority> extractAuthorities(Map<String, Object> validateResponse) {
+	List<SimpleGrantedAuthority> extractAuthorities(Map<String, Object> validateResponse) {
 		try {
 			@SuppressWarnings("unchecked")
 			List<String> roles = (List<String>) validateResponse.getOrDefault("roles", Collections.emptyList());
@@ -89,7 +117,7 @@ public class JwtWebFilter implements WebFilter {
 		}
 	}
 
-	private String extractTokenFromRequest(ServerHttpRequest request) {
+	String extractTokenFromRequest(ServerHttpRequest request) {
 		String bearerToken = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
 		if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
 			return bearerToken.substring(7);
@@ -0,0 +1,138 @@
+package com.api_gateway.loadbalancer;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.TimedRequestContext;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+
+import reactor.core.publisher.Mono;
+
+// Power-of-two-choices balancer: samples two instances and sends the request to the one with the
+// lower peak-EWMA latency weighted by its outstanding requests. It also registers as the
+// lifecycle callback so it sees every request it routed start and complete.
+public class PeakEwmaLoadBalancer
+		implements ReactorServiceInstanceLoadBalancer, LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+
+	private final ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider;
+	private final String serviceId;
+	private final long decayNanos;
+	private final Map<String, PeakEwmaStats> stats = new ConcurrentHashMap<>();
+
+	public PeakEwmaLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider,
+			String serviceId, long decayNanos) {
+		this.serviceInstanceListSupplierProvider = serviceInstanceListSupplierProvider;
+		this.serviceId = serviceId;
+		this.decayNanos = decayNanos;
+	}
+
+	@Override
+	@SuppressWarnings("rawtypes")
+	public Mono<Response<ServiceInstance>> choose(Request request) {
+		ServiceInstanceListSupplier supplier = serviceInstanceListSupplierProvider
+				.getIfAvailable(NoopServiceInstanceListSupplier::new);
+		return supplier.get(request).next().map(this::select);
+	}
+
+	private Response<ServiceInstance> select(List<ServiceInstance> instances) {
+		if (instances.isEmpty()) {
+			return new EmptyResponse();
+		}
+		return new DefaultResponse(choose(instances, System.nanoTime()));
+	}
+
+	ServiceInstance choose(List<ServiceInstance> instances, long nowNanos) {
+		int size = instances.size();
+		if (stats.size() > size * 2) {
+			retainOnly(instances);
+		}
+		if (size == 1) {
+			return instances.get(0);
+		}
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		int first = random.nextInt(size);
+		int second = random.nextInt(size - 1);
+		if (second >= first) {
+			second++;
+		}
+		ServiceInstance a = instances.get(first);
+		ServiceInstance b = instances.get(second);
+		return statsFor(a, nowNanos).cost(nowNanos) <= statsFor(b, nowNanos).cost(nowNanos) ? a : b;
+	}
+
+	void recordStart(ServiceInstance instance) {
+		statsFor(instance, System.nanoTime()).start();
+	}
+
+	void recordCompletion(ServiceInstance instance, long rttNanos, long nowNanos) {
+		statsFor(instance, nowNanos).complete(rttNanos, nowNanos);
+	}
+
+	@Override
+	@SuppressWarnings("rawtypes")
+	public boolean supports(Class requestContextClass, Class responseClass, Class serverTypeClass) {
+		return ServiceInstance.class.isAssignableFrom(serverTypeClass);
+	}
+
+	@Override
+	public void onStart(Request<Object> request) {
+	}
+
+	@Override
+	public void onStartRequest(Request<Object> request, Response<ServiceInstance> lbResponse) {
+		if (request.getContext() instanceof TimedRequestContext timed && timed.getRequestStartTime() == 0) {
+			timed.setRequestStartTime(System.nanoTime());
+		}
+		if (lbResponse.hasServer()) {
+			recordStart(lbResponse.getServer());
+		}
+	}
+
+	@Override
+	public void onComplete(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+		Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+		if (lbResponse == null || !lbResponse.hasServer()
+				|| completionContext.status() == CompletionContext.Status.DISCARD) {
+			return;
+		}
+		long now = System.nanoTime();
+		long rtt = 0;
+		Request<Object> request = completionContext.getLoadBalancerRequest();
+		if (request != null && request.getContext() instanceof TimedRequestContext timed
+				&& timed.getRequestStartTime() != 0) {
+			rtt = now - timed.getRequestStartTime();
+		}
+		recordCompletion(lbResponse.getServer(), rtt, now);
+	}
+
+	public String getServiceId() {
+		return serviceId;
+	}
+
+	private PeakEwmaStats statsFor(ServiceInstance instance, long nowNanos) {
+		return stats.computeIfAbsent(key(instance), k -> new PeakEwmaStats(decayNanos, nowNanos));
+	}
+
+	private void retainOnly(List<ServiceInstance> instances) {
+		List<String> live = instances.stream().map(PeakEwmaLoadBalancer::key).toList();
+		stats.keySet().retainAll(live);
+	}
+
+	private static String key(ServiceInstance instance) {
+		return instance.getInstanceId() != null ? instance.getInstanceId()
+				: instance.getHost() + ':' + instance.getPort();
+	}
+
+}
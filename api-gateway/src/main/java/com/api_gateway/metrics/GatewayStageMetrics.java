@@ -0,0 +1,80 @@
+package com.api_gateway.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// Records how long each stage of a gateway request took, as one timer tagged by stage, route,
+// outcome and validation source. SLO buckets are configured with
+// management.metrics.distribution.slo.gateway.stage.
+@Component
+public class GatewayStageMetrics {
+	Logger logger = LoggerFactory.getLogger(GatewayStageMetrics.class);
+
+	public static final String EXTRACT = "extract";
+	public static final String VALIDATE = "validate";
+	public static final String AUTHORIZE = "authorize";
+	public static final String UPSTREAM = "upstream";
+	public static final String WRITE = "write";
+
+	// Used for the source tag of stages other than validate, so every timer has the same tag keys
+	public static final String NO_SOURCE = "none";
+
+	private static final String NO_ROUTE = "none";
+
+	private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+	private final MeterRegistry meterRegistry;
+	private final int logSampleRate;
+
+	public GatewayStageMetrics(MeterRegistry meterRegistry,
+			@Value("${gateway.metrics.stage-log-sample-rate:100}") int logSampleRate) {
+		this.meterRegistry = meterRegistry;
+		this.logSampleRate = Math.max(1, logSampleRate);
+	}
+
+	public void record(ServerWebExchange exchange, String stage, String outcome, long nanos) {
+		record(exchange, stage, outcome, NO_SOURCE, nanos);
+	}
+
+	public void record(ServerWebExchange exchange, String stage, String outcome, String source, long nanos) {
+		String routeId = routeId(exchange);
+		timers.computeIfAbsent(new TimerKey(stage, routeId, outcome, source), this::newTimer).record(nanos,
+				TimeUnit.NANOSECONDS);
+		// Checked before building any arguments so the disabled path does not allocate
+		if (logger.isDebugEnabled() && sampled()) {
+			logger.debug("stage={} route={} outcome={} source={} micros={} requestId={}", stage, routeId, outcome,
+					source, nanos / 1000, exchange.getRequest().getId());
+		}
+	}
+
+	private boolean sampled() {
+		return logSampleRate == 1 || ThreadLocalRandom.current().nextInt(logSampleRate) == 0;
+	}
+
+	private Timer newTimer(TimerKey key) {
+		return Timer.builder("gateway.stage").tag("stage", key.stage()).tag("route", key.routeId())
+				.tag("outcome", key.outcome()).tag("source", key.source()).register(meterRegistry);
+	}
+
+	// Requests rejected before routing have no route attribute yet
+	private static String routeId(ServerWebExchange exchange) {
+		Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+		return route != null ? route.getId() : NO_ROUTE;
+	}
+
+	private record TimerKey(String stage, String routeId, String outcome, String source) {
+	}
+
+}
@@ -0,0 +1,40 @@
+package com.api_gateway.metrics;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import reactor.core.publisher.Mono;
+
+// Times the response write: wraps NettyWriteResponseFilter, which streams the body to the client
+// after the rest of the chain completes, and measures from the upstream response to the last byte.
+@Component
+public class ResponseWriteTimingFilter implements GlobalFilter, Ordered {
+
+	private final GatewayStageMetrics stageMetrics;
+
+	public ResponseWriteTimingFilter(GatewayStageMetrics stageMetrics) {
+		this.stageMetrics = stageMetrics;
+	}
+
+	@Override
+	public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+		return chain.filter(exchange).doFinally(signal -> {
+			// Responses served at the edge (cache hits, shed or rate limited requests) never went upstream
+			Long upstreamCompletedAt = exchange.getAttribute(UpstreamTimingFilter.UPSTREAM_COMPLETED_ATTR);
+			if (upstreamCompletedAt != null) {
+				stageMetrics.record(exchange, GatewayStageMetrics.WRITE, UpstreamTimingFilter.outcome(exchange, signal),
+						System.nanoTime() - upstreamCompletedAt);
+			}
+		});
+	}
+
+	@Override
+	public int getOrder() {
+		return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+	}
+
+}
@@ -0,0 +1,53 @@
+package com.api_gateway.metrics;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+// Times the upstream call: runs just before the routing filter, so the chain completes
+// once the backend's response headers have arrived and the body is ready to stream.
+@Component
+public class UpstreamTimingFilter implements GlobalFilter, Ordered {
+
+	// Nano timestamp at which the upstream response arrived, read by ResponseWriteTimingFilter
+	static final String UPSTREAM_COMPLETED_ATTR = UpstreamTimingFilter.class.getName() + ".completedAt";
+
+	private final GatewayStageMetrics stageMetrics;
+
+	public UpstreamTimingFilter(GatewayStageMetrics stageMetrics) {
+		this.stageMetrics = stageMetrics;
+	}
+
+	@Override
+	public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+		long start = System.nanoTime();
+		return chain.filter(exchange).doFinally(signal -> {
+			long now = System.nanoTime();
+			exchange.getAttributes().put(UPSTREAM_COMPLETED_ATTR, now);
+			stageMetrics.record(exchange, GatewayStageMetrics.UPSTREAM, outcome(exchange, signal), now - start);
+		});
+	}
+
+	static String outcome(ServerWebExchange exchange, SignalType signal) {
+		if (signal == SignalType.ON_ERROR) {
+			return "error";
+		}
+		if (signal == SignalType.CANCEL) {
+			return "cancelled";
+		}
+		HttpStatusCode status = exchange.getResponse().getStatusCode();
+		return status != null ? (status.value() / 100) + "xx" : "unknown";
+	}
+
+	@Override
+	public int getOrder() {
+		return Ordered.LOWEST_PRECEDENCE - 1;
+	}
+
+}
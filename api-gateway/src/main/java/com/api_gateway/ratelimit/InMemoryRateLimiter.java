@@ -0,0 +1,164 @@
+package com.api_gateway.ratelimit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.validation.constraints.Min;
+import reactor.core.publisher.Mono;
+
+// Token-bucket RateLimiter for the RequestRateLimiter filter, held entirely in process.
+// Buckets are keyed by route and client key and guarded by a fixed set of striped locks.
+@Component("inMemoryRateLimiter")
+public class InMemoryRateLimiter extends AbstractRateLimiter<InMemoryRateLimiter.Config> {
+
+	public static final String CONFIGURATION_PROPERTY_NAME = "in-memory-rate-limiter";
+
+	public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+	public static final String REPLENISH_RATE_HEADER = "X-RateLimit-Replenish-Rate";
+	public static final String BURST_CAPACITY_HEADER = "X-RateLimit-Burst-Capacity";
+
+	private static final int STRIPES = 64;
+
+	private final Object[] locks = new Object[STRIPES];
+	private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+	private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+	private final Config defaultConfig;
+	private final MeterRegistry meterRegistry;
+	private final long idleEvictionNanos;
+
+	public InMemoryRateLimiter(ConfigurationService configurationService, MeterRegistry meterRegistry,
+			@Value("${gateway.rate-limit.default-replenish-rate:50}") int defaultReplenishRate,
+			@Value("${gateway.rate-limit.default-burst-capacity:100}") int defaultBurstCapacity,
+			@Value("${gateway.rate-limit.idle-eviction-ms:300000}") long idleEvictionMs) {
+		super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+		for (int i = 0; i < STRIPES; i++) {
+			locks[i] = new Object();
+		}
+		this.defaultConfig = new Config().setReplenishRate(defaultReplenishRate).setBurstCapacity(defaultBurstCapacity);
+		this.meterRegistry = meterRegistry;
+		this.idleEvictionNanos = TimeUnit.MILLISECONDS.toNanos(idleEvictionMs);
+		meterRegistry.gaugeMapSize("gateway.ratelimit.buckets", Tags.empty(), buckets);
+	}
+
+	@Override
+	public Mono<Response> isAllowed(String routeId, String id) {
+		Config config = getConfig().getOrDefault(routeId, defaultConfig);
+		String key = routeId + ':' + id;
+		long now = System.nanoTime();
+		boolean allowed;
+		long remaining;
+
+		synchronized (locks[stripe(key)]) {
+			Bucket bucket = buckets.computeIfAbsent(key, k -> new Bucket(config.getBurstCapacity(), now));
+			bucket.refill(config, now);
+			allowed = bucket.tokens >= config.getRequestedTokens();
+			if (allowed) {
+				bucket.tokens -= config.getRequestedTokens();
+			}
+			remaining = (long) bucket.tokens;
+		}
+
+		counter(routeId, allowed ? "allowed" : "rejected").increment();
+		return Mono.just(new Response(allowed, Map.of(REMAINING_HEADER, String.valueOf(remaining),
+				REPLENISH_RATE_HEADER, String.valueOf(config.getReplenishRate()), BURST_CAPACITY_HEADER,
+				String.valueOf(config.getBurstCapacity()))));
+	}
+
+	// Buckets that have been idle long enough are full again, so dropping them is lossless
+	@Scheduled(fixedDelayString = "${gateway.rate-limit.idle-eviction-ms:300000}")
+	public void evictIdleBuckets() {
+		long now = System.nanoTime();
+		buckets.forEach((key, bucket) -> {
+			synchronized (locks[stripe(key)]) {
+				if (now - bucket.lastRefillNanos > idleEvictionNanos) {
+					buckets.remove(key, bucket);
+				}
+			}
+		});
+	}
+
+	private Counter counter(String routeId, String outcome) {
+		return counters.computeIfAbsent(routeId + ':' + outcome, k -> Counter.builder("gateway.ratelimit.requests")
+				.tag("route", routeId).tag("outcome", outcome).register(meterRegistry));
+	}
+
+	private static int stripe(String key) {
+		int h = key.hashCode();
+		return (h ^ (h >>> 16)) & (STRIPES - 1);
+	}
+
+	// Mutated only while holding the bucket's stripe lock
+	private static class Bucket {
+		double tokens;
+		long lastRefillNanos;
+
+		Bucket(double tokens, long now) {
+			this.tokens = tokens;
+			this.lastRefillNanos = now;
+		}
+
+		void refill(Config config, long now) {
+			double elapsedSeconds = (now - lastRefillNanos) / 1_000_000_000.0;
+			tokens = Math.min(config.getBurstCapacity(), tokens + elapsedSeconds * config.getReplenishRate());
+			lastRefillNanos = now;
+		}
+	}
+
+	@Validated
+	public static class Config {
+
+		@Min(1)
+		private int replenishRate;
+
+		@Min(0)
+		private int burstCapacity = 1;
+
+		@Min(1)
+		private int requestedTokens = 1;
+
+		public int getReplenishRate() {
+			return replenishRate;
+		}
+
+		public Config setReplenishRate(int replenishRate) {
+			this.replenishRate = replenishRate;
+			return this;
+		}
+
+		public int getBurstCapacity() {
+			return burstCapacity;
+		}
+
+		public Config setBurstCapacity(int burstCapacity) {
+			this.burstCapacity = burstCapacity;
+			return this;
+		}
+
+		public int getRequestedTokens() {
+			return requestedTokens;
+		}
+
+		public Config setRequestedTokens(int requestedTokens) {
+			this.requestedTokens = requestedTokens;
+			return this;
+		}
+
+		@Override
+		public String toString() {
+			return "Config{replenishRate=" + replenishRate + ", burstCapacity=" + burstCapacity
+					+ ", requestedTokens=" + requestedTokens + "}";
+		}
+	}
+
+}
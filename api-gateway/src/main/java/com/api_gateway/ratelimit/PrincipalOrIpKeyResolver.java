@@ -0,0 +1,32 @@
+package com.api_gateway.ratelimit;
+
+import java.net.InetSocketAddress;
+import java.security.Principal;
+
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+
+import reactor.core.publisher.Mono;
+
+// Limits authenticated callers by the principal JwtWebFilter sets, everyone else by client IP.
+// The gateway is the edge, so the socket address is used rather than a client-supplied X-Forwarded-For.
+@Component("principalOrIpKeyResolver")
+public class PrincipalOrIpKeyResolver implements KeyResolver {
+
+	@Override
+	public Mono<String> resolve(ServerWebExchange exchange) {
+		return exchange.getPrincipal().map(Principal::getName).filter(StringUtils::hasText).map(name -> "user:" + name)
+				.switchIfEmpty(Mono.fromSupplier(() -> "ip:" + clientIp(exchange)));
+	}
+
+	private String clientIp(ServerWebExchange exchange) {
+		InetSocketAddress remoteAddress = exchange.getRequest().getRemoteAddress();
+		if (remoteAddress == null || remoteAddress.getAddress() == null) {
+			return "unknown";
+		}
+		return remoteAddress.getAddress().getHostAddress();
+	}
+
+}
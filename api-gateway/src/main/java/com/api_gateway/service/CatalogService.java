@@ -0,0 +1,84 @@
+package com.api_gateway.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.api_gateway.dto.CatalogItemDTO;
+import com.api_gateway.dto.CatalogItemDTO.Availability;
+import com.api_gateway.dto.InventoryDTO;
+import com.api_gateway.dto.ProductDTO;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Builds the storefront listing in one gateway call: products and stock are fetched concurrently
+// and joined on SKU. The inventory leg is optional and degrades to UNKNOWN availability.
+@Service
+public class CatalogService {
+	Logger logger = LoggerFactory.getLogger(CatalogService.class);
+
+	private final WebClient webClient;
+	private final Duration productTimeout;
+	private final Duration inventoryTimeout;
+	private final Counter inventoryDegraded;
+
+	public CatalogService(WebClient.Builder webClientBuilder, MeterRegistry meterRegistry,
+			@Value("${gateway.catalog.product-timeout:2s}") Duration productTimeout,
+			@Value("${gateway.catalog.inventory-timeout:1s}") Duration inventoryTimeout) {
+		this.webClient = webClientBuilder.build();
+		this.productTimeout = productTimeout;
+		this.inventoryTimeout = inventoryTimeout;
+		this.inventoryDegraded = Counter.builder("gateway.catalog.degraded").tag("leg", "inventory")
+				.register(meterRegistry);
+	}
+
+	public Flux<CatalogItemDTO> getCatalog() {
+		// zip subscribes to both legs at once, so the listing costs max(product, inventory), not the sum
+		return Mono.zip(fetchProducts(), fetchStock())
+				.flatMapIterable(legs -> legs.getT1().stream().map(product -> merge(product, legs.getT2())).toList());
+	}
+
+	private Mono<List<ProductDTO>> fetchProducts() {
+		return webClient.get().uri("http://product-service/api/product/getallproducts").retrieve()
+				.bodyToFlux(ProductDTO.class).collectList().timeout(productTimeout)
+				.onErrorMap(TimeoutException.class,
+						e -> new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, "Product service timed out"));
+	}
+
+	// Empty Optional means stock is unknown for every product
+	private Mono<Optional<Map<String, Integer>>> fetchStock() {
+		return webClient.get().uri("http://inventory-service/api/inventory/getallitems").retrieve()
+				.bodyToFlux(InventoryDTO.class).filter(item -> item.getSkuCode() != null)
+				.collectMap(InventoryDTO::getSkuCode, item -> Optional.ofNullable(item.getQuantity()).orElse(0))
+				.timeout(inventoryTimeout).map(Optional::of).onErrorResume(e -> {
+					inventoryDegraded.increment();
+					logger.warn("Inventory unavailable for catalog, serving unknown availability: {}", e.toString());
+					return Mono.just(Optional.empty());
+				});
+	}
+
+	// Products carry no SKU field; the product name is the SKU code used by inventory and orders
+	private static CatalogItemDTO merge(ProductDTO product, Optional<Map<String, Integer>> stock) {
+		String skuCode = product.getName();
+		Integer quantity = stock.map(byCode -> byCode.getOrDefault(skuCode, 0)).orElse(null);
+		Availability availability = quantity == null ? Availability.UNKNOWN
+				: quantity > 0 ? Availability.IN_STOCK : Availability.OUT_OF_STOCK;
+		return CatalogItemDTO.builder().id(product.getId()).name(product.getName())
+				.description(product.getDescription()).price(product.getPrice()).skuCode(skuCode).quantity(quantity)
+				.availability(availability).build();
+	}
+
+}
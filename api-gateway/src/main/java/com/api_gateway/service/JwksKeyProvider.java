@@ -0,0 +1,106 @@
+package com.api_gateway.service;
+
+import java.security.Key;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.JwkSet;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.PublicJwk;
+import reactor.core.publisher.Mono;
+
+// Holds the public keys published by user-service, one prebuilt parser per key id.
+// Keys are refreshed on a schedule and on demand when a token carries an unknown kid.
+@Component
+public class JwksKeyProvider {
+	Logger logger = LoggerFactory.getLogger(JwksKeyProvider.class);
+
+	private final WebClient webClient;
+	private final String jwksUri;
+	private final long minRefreshIntervalNanos;
+
+	private volatile Map<String, JwtParser> parsers = Map.of();
+	private volatile long lastRefreshNanos;
+	private final AtomicReference<Mono<Map<String, JwtParser>>> inflightRefresh = new AtomicReference<>();
+
+	public JwksKeyProvider(WebClient.Builder webClientBuilder,
+			@Value("${gateway.jwt.jwks-uri:http://user-service/api/users/.well-known/jwks.json}") String jwksUri,
+			@Value("${gateway.jwt.jwks-min-refresh-interval:30s}") Duration minRefreshInterval) {
+		this.webClient = webClientBuilder.build();
+		this.jwksUri = jwksUri;
+		this.minRefreshIntervalNanos = minRefreshInterval.toNanos();
+		this.lastRefreshNanos = System.nanoTime() - minRefreshIntervalNanos;
+	}
+
+	// Returns the parser for the given key id, refreshing the key set once if the id is unknown.
+	// Completes empty when the key is still unknown so the caller can fall back to remote validation.
+	public Mono<JwtParser> parserFor(String kid) {
+		if (kid == null) {
+			return Mono.empty();
+		}
+		JwtParser parser = parsers.get(kid);
+		if (parser != null) {
+			return Mono.just(parser);
+		}
+		return refresh(false).mapNotNull(current -> current.get(kid));
+	}
+
+	@Scheduled(fixedDelayString = "${gateway.jwt.jwks-refresh-interval-ms:300000}")
+	public void scheduledRefresh() {
+		refresh(true).subscribe();
+	}
+
+	private Mono<Map<String, JwtParser>> refresh(boolean force) {
+		if (!force && System.nanoTime() - lastRefreshNanos < minRefreshIntervalNanos) {
+			return Mono.just(parsers);
+		}
+		Mono<Map<String, JwtParser>> inflight = inflightRefresh.get();
+		if (inflight != null) {
+			return inflight;
+		}
+		Mono<Map<String, JwtParser>> fetch = fetchKeys().doFinally(signal -> inflightRefresh.set(null)).cache();
+		Mono<Map<String, JwtParser>> existing = inflightRefresh.compareAndExchange(null, fetch);
+		return existing != null ? existing : fetch;
+	}
+
+	private Mono<Map<String, JwtParser>> fetchKeys() {
+		return webClient.get().uri(jwksUri).retrieve().bodyToMono(String.class).map(this::parseKeySet)
+				.doOnNext(updated -> {
+					parsers = updated;
+					lastRefreshNanos = System.nanoTime();
+					logger.info("Loaded {} signing keys from {}", updated.size(), jwksUri);
+				}).onErrorResume(e -> {
+					// Keep serving the keys we already have; unknown kids fall back to remote validation
+					lastRefreshNanos = System.nanoTime();
+					logger.warn("Unable to refresh signing keys from {}: {}", jwksUri, e.getMessage());
+					return Mono.just(parsers);
+				});
+	}
+
+	private Map<String, JwtParser> parseKeySet(String json) {
+		JwkSet keySet = Jwks.setParser().build().parse(json);
+		Map<String, JwtParser> updated = new HashMap<>();
+		for (Jwk<?> jwk : keySet.getKeys()) {
+			if (jwk.getId() == null || !(jwk instanceof PublicJwk<?> publicJwk)) {
+				continue;
+			}
+			Key key = publicJwk.toKey();
+			updated.put(jwk.getId(), Jwts.parser().verifyWith((PublicKey) key).build());
+		}
+		return Map.copyOf(updated);
+	}
+
+}
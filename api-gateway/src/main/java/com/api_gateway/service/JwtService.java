@@ -1,9 +1,20 @@
 package com.api_gateway.service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -11,23 +22,167 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import reactor.core.publisher.Mono;
 
 @Component
 public class JwtService {
+	Logger logger = LoggerFactory.getLogger(JwtService.class);
+
+	private static final Map<String, Object> INVALID_TOKEN = Map.of("valid", false, "error", "Invalid token");
+
+	public static final String SOURCE_CACHE = "cache";
+	public static final String SOURCE_COALESCED = "coalesced";
+	public static final String SOURCE_LOCAL = "local";
+	public static final String SOURCE_REMOTE = "remote";
+
+	private final WebClient webClient;
+	private final JwksKeyProvider keyProvider;
+	private final TokenRevocations revocations;
+	private final ObjectMapper objectMapper;
 
-	private final WebClient.Builder webClientBuilder;
+	// Validation results keyed by token hash; in-flight entries are shared by concurrent callers
+	private final AsyncCache<String, CachedValidation> validationCache;
+	private final long maxTtlMillis;
+	private final long negativeTtlMillis;
 
-	public JwtService(WebClient.Builder webClientBuilder) {
-		this.webClientBuilder = webClientBuilder;
+	private final Counter cacheHits;
+	private final Counter cacheMisses;
+	private final Counter cacheCoalesced;
+	private final Counter revoked;
+
+	public JwtService(WebClient.Builder webClientBuilder, JwksKeyProvider keyProvider, TokenRevocations revocations,
+			ObjectMapper objectMapper, MeterRegistry meterRegistry,
+			@Value("${gateway.jwt.cache.max-size:100000}") long maxSize,
+			@Value("${gateway.jwt.cache.max-ttl:5m}") Duration maxTtl,
+			@Value("${gateway.jwt.cache.negative-ttl:10s}") Duration negativeTtl) {
+		this.webClient = webClientBuilder.build();
+		this.keyProvider = keyProvider;
+		this.revocations = revocations;
+		this.objectMapper = objectMapper;
+		this.maxTtlMillis = maxTtl.toMillis();
+		this.negativeTtlMillis = negativeTtl.toMillis();
+		this.validationCache = Caffeine.newBuilder().maximumSize(maxSize).expireAfter(new ValidationExpiry())
+				.buildAsync();
+
+		this.cacheHits = Counter.builder("gateway.jwt.validation.cache").tag("result", "hit").register(meterRegistry);
+		this.cacheMisses = Counter.builder("gateway.jwt.validation.cache").tag("result", "miss")
+				.register(meterRegistry);
+		this.cacheCoalesced = Counter.builder("gateway.jwt.validation.cache").tag("result", "coalesced")
+				.register(meterRegistry);
+		this.revoked = Counter.builder("gateway.jwt.validation.revoked").register(meterRegistry);
+		meterRegistry.gauge("gateway.jwt.validation.cache.size", validationCache,
+				cache -> cache.synchronous().estimatedSize());
 	}
 
 	public Mono<Map<String, Object>> validateToken(String token) {
-		Logger logger = LoggerFactory.getLogger(JwtService.class);
+		return validate(token).map(Validation::response);
+	}
+
+	// Same as validateToken, but also reports where the result came from for stage metrics
+	public Mono<Validation> validate(String token) {
+		String key = hash(token);
+		CompletableFuture<CachedValidation> cached = validationCache.getIfPresent(key);
+		if (cached != null) {
+			boolean done = cached.isDone();
+			(done ? cacheHits : cacheCoalesced).increment();
+			return toValidation(cached, done ? SOURCE_CACHE : SOURCE_COALESCED);
+		}
+		boolean[] loaded = new boolean[1];
+		CompletableFuture<CachedValidation> future = validationCache.get(key, (k, executor) -> {
+			loaded[0] = true;
+			return verify(token).toFuture();
+		});
+		(loaded[0] ? cacheMisses : cacheCoalesced).increment();
+		return toValidation(future, loaded[0] ? null : SOURCE_COALESCED);
+	}
+
+	// A null source reports how the result was verified, for the caller that loaded it. Revocations are
+	// checked on every call, so a cached result never outlives the revocation of its token.
+	private Mono<Validation> toValidation(CompletableFuture<CachedValidation> future, String source) {
+		// Cancelling one subscriber must not cancel the shared validation
+		return Mono.fromFuture(future, true).map(cached -> new Validation(
+				isRevoked(cached.response()) ? INVALID_TOKEN : cached.response(),
+				source != null ? source : cached.source()));
+	}
+
+	private boolean isRevoked(Map<String, Object> response) {
+		if (!Boolean.TRUE.equals(response.get("valid"))) {
+			return false;
+		}
+		Object claims = response.get("claims");
+		Map<?, ?> claimMap = claims instanceof Map<?, ?> map ? map : Map.of();
+		Object jti = claimMap.get("jti");
+		Object subject = response.get("username");
+		boolean hit = revocations.isRevoked(jti != null ? jti.toString() : null,
+				subject != null ? subject.toString() : null, toInstant(claimMap.get("iat")));
+		if (hit) {
+			revoked.increment();
+		}
+		return hit;
+	}
+
+	// iat is a Date from a local parse, and epoch seconds or millis once the claims went through JSON
+	private static Instant toInstant(Object value) {
+		if (value instanceof Date date) {
+			return date.toInstant();
+		}
+		if (value instanceof Number number) {
+			long epoch = number.longValue();
+			return epoch < 100_000_000_000L ? Instant.ofEpochSecond(epoch) : Instant.ofEpochMilli(epoch);
+		}
+		return null;
+	}
+
+	// Tokens signed with a published key are verified in-process; anything else is checked by user-service.
+	// Rejections are cached briefly as an invalid response; transport errors fail the future and are not cached.
+	private Mono<CachedValidation> verify(String token) {
+		long now = System.currentTimeMillis();
+		long expiresAt = Math.min(now + maxTtlMillis, readExpiry(token));
+		String kid = readKeyId(token);
+		return keyProvider.parserFor(kid).map(parser -> verifyLocally(parser, token))
+				.map(response -> new CachedValidation(response, expiresAt, SOURCE_LOCAL))
+				.onErrorResume(JwtException.class, e -> Mono.just(rejected(now, SOURCE_LOCAL)))
+				.switchIfEmpty(Mono.defer(() -> validateRemotely(token)
+						.map(response -> new CachedValidation(response, expiresAt, SOURCE_REMOTE))
+						.onErrorResume(JwtException.class, e -> Mono.just(rejected(now, SOURCE_REMOTE)))));
+	}
+
+	private CachedValidation rejected(long now, String source) {
+		return new CachedValidation(INVALID_TOKEN, now + negativeTtlMillis, source);
+	}
+
+	private Map<String, Object> verifyLocally(JwtParser parser, String token) {
+		Claims claims;
 		try {
-			logger.info("Starting token validation...");
-			return webClientBuilder.build().get().uri("http://user-service/api/users/validate-token")
+			claims = parser.parseSignedClaims(token).getPayload();
+		} catch (JwtException e) {
+			logger.debug("Local token verification failed: {}", e.getMessage());
+			throw new JwtException("Invalid token");
+		}
+		// Same shape as the user-service /validate-token response
+		Map<String, Object> response = new HashMap<>();
+		response.put("valid", true);
+		response.put("username", claims.getSubject());
+		response.put("roles", claims.get("roles", List.class));
+		response.put("claims", claims);
+		return response;
+	}
+
+	private Mono<Map<String, Object>> validateRemotely(String token) {
+		try {
+			logger.debug("Validating token with user-service...");
+			return webClient.get().uri("http://user-service/api/users/validate-token")
 					.header(HttpHeaders.AUTHORIZATION, "Bearer " + token).retrieve()
 					.bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {
 					}).onErrorResume(WebClientResponseException.class, ex -> {
@@ -45,4 +200,63 @@ public class JwtService {
 		}
 	}
 
+	// Reads the kid from the unverified JOSE header; null means "let user-service decide"
+	private String readKeyId(String token) {
+		JsonNode kid = readSegment(token, 0).get("kid");
+		return kid != null && kid.isTextual() ? kid.asText() : null;
+	}
+
+	// Reads the unverified exp claim, only used to bound how long a result may be cached
+	private long readExpiry(String token) {
+		JsonNode exp = readSegment(token, 1).get("exp");
+		return exp != null && exp.canConvertToLong() ? exp.asLong() * 1000 : Long.MAX_VALUE;
+	}
+
+	private JsonNode readSegment(String token, int index) {
+		String[] parts = token.split("\\.");
+		if (parts.length < 2 || index >= parts.length) {
+			return objectMapper.createObjectNode();
+		}
+		try {
+			return objectMapper.readTree(Base64.getUrlDecoder().decode(parts[index]));
+		} catch (Exception e) {
+			return objectMapper.createObjectNode();
+		}
+	}
+
+	private static String hash(String token) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+			return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 not available", e);
+		}
+	}
+
+	// source is one of the SOURCE_* constants
+	public record Validation(Map<String, Object> response, String source) {
+	}
+
+	private record CachedValidation(Map<String, Object> response, long expiresAtMillis, String source) {
+	}
+
+	private static class ValidationExpiry implements Expiry<String, CachedValidation> {
+
+		@Override
+		public long expireAfterCreate(String key, CachedValidation value, long currentTime) {
+			long remaining = value.expiresAtMillis() - System.currentTimeMillis();
+			return Duration.ofMillis(Math.max(0, remaining)).toNanos();
+		}
+
+		@Override
+		public long expireAfterUpdate(String key, CachedValidation value, long currentTime, long currentDuration) {
+			return expireAfterCreate(key, value, currentTime);
+		}
+
+		@Override
+		public long expireAfterRead(String key, CachedValidation value, long currentTime, long currentDuration) {
+			return currentDuration;
+		}
+	}
+
 }
@@ -1,6 +1,12 @@
 package com.api_gateway.service;
 
-import org.springframework.beans.factory.annotation.Autowired;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -10,46 +16,92 @@ import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 
 import com.api_gateway.dto.UserResponseDTO;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import reactor.core.publisher.Mono;
 
 @Service
 public class SecurityService implements ReactiveUserDetailsService {
+	Logger logger = LoggerFactory.getLogger(SecurityService.class);
+
+	private final WebClient webClient;
 
-	@Autowired
-	private WebClient.Builder webClientBuilder;
+	// Users by login name; an empty Optional records a user that does not exist.
+	// Concurrent lookups of the same user share the in-flight request.
+	private final AsyncCache<String, Optional<UserDetails>> userCache;
+
+	public SecurityService(WebClient.Builder webClientBuilder, MeterRegistry meterRegistry,
+			@Value("${gateway.user-cache.max-size:10000}") long maxSize,
+			@Value("${gateway.user-cache.ttl:5m}") Duration ttl,
+			@Value("${gateway.user-cache.negative-ttl:30s}") Duration negativeTtl) {
+		this.webClient = webClientBuilder.build();
+		this.userCache = Caffeine.newBuilder().maximumSize(maxSize).expireAfter(new UserExpiry(ttl, negativeTtl))
+				.recordStats().buildAsync();
+		CaffeineCacheMetrics.monitor(meterRegistry, userCache, "gateway.user-details");
+	}
 
 	@Override
 	public Mono<UserDetails> findByUsername(String username) {
+		CompletableFuture<Optional<UserDetails>> future = userCache.get(username,
+				(key, executor) -> fetchUser(key).toFuture());
+		return Mono.fromFuture(future, true)
+				.flatMap(user -> user.map(this::copyOf).map(Mono::just)
+						.orElseGet(() -> Mono.error(new UsernameNotFoundException("User not found!"))));
+	}
+
+	// Called by TokenRevocations when a user is deactivated. Other changes, such as a new password,
+	// reach the gateway only when the entry expires, so gateway.user-cache.ttl bounds their staleness.
+	public void evict(String username) {
+		userCache.synchronous().invalidate(username);
+	}
+
+	private Mono<Optional<UserDetails>> fetchUser(String username) {
+		return webClient.get()
+				.uri("http://user-service/api/users/by-mail", uriBuilder -> uriBuilder.queryParam("email", username).build())
+				.retrieve().bodyToMono(UserResponseDTO.class)
+				.map(userDto -> Optional.of((UserDetails) User.builder().username(String.valueOf(userDto.getUserId()))
+						.password("{bcrypt}" + userDto.getPassword()).build()))
+				.defaultIfEmpty(Optional.empty())
+				.onErrorResume(WebClientResponseException.NotFound.class, error -> {
+					logger.debug("User not found: {}", username);
+					return Mono.just(Optional.empty());
+				}).doOnError(e -> logger.error("Error fetching user {} from user-service: {}", username, e.getMessage()));
+	}
+
+	// Authentication may erase credentials on the returned instance, so callers never get the cached one
+	private UserDetails copyOf(UserDetails user) {
+		return User.withUserDetails(user).build();
+	}
+
+	private static class UserExpiry implements Expiry<String, Optional<UserDetails>> {
+		private final long ttlNanos;
+		private final long negativeTtlNanos;
+
+		UserExpiry(Duration ttl, Duration negativeTtl) {
+			this.ttlNanos = ttl.toNanos();
+			this.negativeTtlNanos = negativeTtl.toNanos();
+		}
+
+		@Override
+		public long expireAfterCreate(String key, Optional<UserDetails> value, long currentTime) {
+			return value.isPresent() ? ttlNanos : negativeTtlNanos;
+		}
+
+		@Override
+		public long expireAfterUpdate(String key, Optional<UserDetails> value, long currentTime,
+				long currentDuration) {
+			return expireAfterCreate(key, value, currentTime);
+		}
 
-		Mono<UserDetails> m = webClientBuilder.build().get()
-				.uri("http://user-service/api/users/by-mail", uriBuilder -> {
-					try {
-						return uriBuilder.queryParam("email", username).build();
-					} catch (Exception e) {
-						System.err.println("Error building URI: " + e.getMessage());
-						throw e;
-					}
-				}).retrieve().onStatus(status -> !status.is2xxSuccessful(), response -> {
-					System.err.println("Error response from server: " + response.statusCode());
-					return Mono.error(new RuntimeException("Unexpected response status: " + response.statusCode()));
-				}).bodyToMono(UserResponseDTO.class).doOnError(e -> {
-					System.err.println("Error during WebClient call: " + e.getMessage());
-					e.printStackTrace();
-				}).onErrorResume(WebClientResponseException.NotFound.class, error -> {
-					System.err.println("User not found: " + error.getMessage());
-					return Mono.error(new UsernameNotFoundException("User not found with id: " + username, error));
-				}).map(userDto -> {
-					try {
-						System.out.println("Fetched user: " + userDto);
-						return (UserDetails) User.builder().username(String.valueOf(userDto.getUserId()))
-								.password("{bcrypt}" + userDto.getPassword()).build();
-					} catch (Exception e) {
-						System.err.println("Error mapping UserResponseDTO to UserDetails: " + e.getMessage());
-						throw new RuntimeException("Mapping error", e);
-					}
-				}).switchIfEmpty(Mono.error(new UsernameNotFoundException("User not found!")));
-		return m;
+		@Override
+		public long expireAfterRead(String key, Optional<UserDetails> value, long currentTime,
+				long currentDuration) {
+			return currentDuration;
+		}
 	}
 
 }
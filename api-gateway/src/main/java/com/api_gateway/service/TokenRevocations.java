@@ -0,0 +1,96 @@
+package com.api_gateway.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.api_gateway.dto.TokenRevocationDTO;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import reactor.core.publisher.Mono;
+
+// Access-token revocations tailed from user-service, so a token verified locally or served from the
+// validation cache stops working within one poll of being revoked rather than when its cache entry
+// expires. Entries are dropped once the tokens they cover have expired. A subject revocation also
+// evicts the user's cached details, so a deactivated user cannot sign in with a password either.
+@Component
+public class TokenRevocations {
+	Logger logger = LoggerFactory.getLogger(TokenRevocations.class);
+
+	private static final String JTI_PREFIX = "jti:";
+	private static final String SUBJECT_PREFIX = "sub:";
+
+	private final WebClient webClient;
+	private final SecurityService securityService;
+	private final String feedUri;
+	private final long pollOverlapMillis;
+
+	private final Map<String, TokenRevocationDTO> revocations = new ConcurrentHashMap<>();
+	// Newest revokedAt seen, on user-service's clock, so the gateway's own clock does not matter
+	private final AtomicLong lastRevokedAtMillis = new AtomicLong();
+
+	public TokenRevocations(WebClient.Builder webClientBuilder, SecurityService securityService,
+			MeterRegistry meterRegistry,
+			@Value("${gateway.jwt.revocation-feed-uri:http://user-service/internal/token-revocations}") String feedUri,
+			@Value("${gateway.jwt.revocation-poll-overlap:10s}") Duration pollOverlap) {
+		this.webClient = webClientBuilder.build();
+		this.securityService = securityService;
+		this.feedUri = feedUri;
+		this.pollOverlapMillis = pollOverlap.toMillis();
+		meterRegistry.gaugeMapSize("gateway.jwt.revocations", Tags.empty(), revocations);
+	}
+
+	// iat has second precision, so a token issued in the same second as a subject revocation counts as revoked
+	public boolean isRevoked(String jti, String subject, Instant issuedAt) {
+		if (revocations.isEmpty()) {
+			return false;
+		}
+		Instant now = Instant.now();
+		TokenRevocationDTO byJti = jti != null ? revocations.get(JTI_PREFIX + jti) : null;
+		if (byJti != null && byJti.getExpiresAt().isAfter(now)) {
+			return true;
+		}
+		TokenRevocationDTO bySubject = subject != null ? revocations.get(SUBJECT_PREFIX + subject) : null;
+		return bySubject != null && bySubject.getExpiresAt().isAfter(now)
+				&& (issuedAt == null || !issuedAt.isAfter(bySubject.getRevokedAt()));
+	}
+
+	// Rows may commit after newer ones were read, so each poll re-reads an overlap window;
+	// applying a revocation twice is harmless
+	@Scheduled(fixedDelayString = "${gateway.jwt.revocation-poll-interval-ms:2000}")
+	public void poll() {
+		long since = Math.max(0, lastRevokedAtMillis.get() - pollOverlapMillis);
+		webClient.get().uri(feedUri + "?since={since}", since).retrieve().bodyToFlux(TokenRevocationDTO.class)
+				.collectList().doOnNext(this::apply).onErrorResume(e -> {
+					logger.warn("Could not fetch token revocations: {}", e.getMessage());
+					return Mono.empty();
+				}).subscribe();
+	}
+
+	void apply(List<TokenRevocationDTO> rows) {
+		for (TokenRevocationDTO row : rows) {
+			// A later subject revocation moves the cutoff forward; it never moves back
+			TokenRevocationDTO applied = revocations.merge(row.getKey(), row,
+					(existing, update) -> update.getRevokedAt().isAfter(existing.getRevokedAt()) ? update : existing);
+			// Subjects are login emails, the key of the user details cache; rows re-read in the overlap are skipped
+			if (applied == row && row.getKey().startsWith(SUBJECT_PREFIX)) {
+				securityService.evict(row.getKey().substring(SUBJECT_PREFIX.length()));
+			}
+			lastRevokedAtMillis.accumulateAndGet(row.getRevokedAt().toEpochMilli(), Math::max);
+		}
+		Instant now = Instant.now();
+		revocations.values().removeIf(revocation -> !revocation.getExpiresAt().isAfter(now));
+	}
+
+}
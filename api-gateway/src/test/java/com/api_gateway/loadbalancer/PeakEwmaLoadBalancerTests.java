@@ -0,0 +1,126 @@
+package com.api_gateway.loadbalancer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+
+// Replays the same open-loop workload against stub instances of skewed speed in virtual time,
+// once with round-robin and once with peak-EWMA power-of-two-choices, and compares tail latency.
+class PeakEwmaLoadBalancerTests {
+
+	private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+	private static final int REQUESTS = 20_000;
+	private static final long INTERARRIVAL = MS;
+
+	private final List<ServiceInstance> instances = List.of(instance("inventory-1"), instance("inventory-2"),
+			instance("inventory-3"), instance("inventory-slow"));
+
+	// Base service time per instance; latency also grows with the instance's concurrency
+	private final Map<String, Long> baseLatency = Map.of("inventory-1", 10 * MS, "inventory-2", 10 * MS,
+			"inventory-3", 12 * MS, "inventory-slow", 150 * MS);
+
+	@Test
+	void peakEwmaCutsTailLatencyComparedToRoundRobin() {
+		int[] next = new int[1];
+		long[] roundRobin = simulate((list, now) -> list.get(next[0]++ % list.size()), null);
+
+		PeakEwmaLoadBalancer balancer = new PeakEwmaLoadBalancer(null, "inventory-service", 10_000 * MS);
+		long[] peakEwma = simulate(balancer::choose, balancer);
+
+		long roundRobinP99 = percentile(roundRobin, 0.99);
+		long peakEwmaP99 = percentile(peakEwma, 0.99);
+
+		// Virtual time, so the comparison does not depend on the machine running the test
+		assertThat(peakEwmaP99).as("peak-ewma p99 %dms, round-robin p99 %dms", peakEwmaP99 / MS, roundRobinP99 / MS)
+				.isLessThan(roundRobinP99 / 2);
+	}
+
+	@Test
+	void recoveredInstanceIsTriedAgainOnceItsPeakDecays() {
+		PeakEwmaLoadBalancer balancer = new PeakEwmaLoadBalancer(null, "inventory-service", 100 * MS);
+		ServiceInstance slow = instances.get(3);
+		long later = 2_000 * MS;
+
+		observe(balancer, slow, 500 * MS, 0);
+		instances.subList(0, 3).forEach(fast -> observe(balancer, fast, 10 * MS, 0));
+		int slowPicksRightAway = countPicks(balancer, slow, 0);
+
+		// The fast instances keep reporting 10ms while nothing new is heard from the slow one
+		instances.subList(0, 3).forEach(fast -> observe(balancer, fast, 10 * MS, later));
+		int slowPicksLater = countPicks(balancer, slow, later);
+
+		assertThat(slowPicksRightAway).isZero();
+		assertThat(slowPicksLater).isPositive();
+	}
+
+	private void observe(PeakEwmaLoadBalancer balancer, ServiceInstance instance, long rtt, long now) {
+		balancer.recordStart(instance);
+		balancer.recordCompletion(instance, rtt, now);
+	}
+
+	private int countPicks(PeakEwmaLoadBalancer balancer, ServiceInstance target, long now) {
+		int picks = 0;
+		for (int i = 0; i < 1_000; i++) {
+			if (balancer.choose(instances, now) == target) {
+				picks++;
+			}
+		}
+		return picks;
+	}
+
+	private long[] simulate(BiFunction<List<ServiceInstance>, Long, ServiceInstance> chooser,
+			PeakEwmaLoadBalancer feedback) {
+		PriorityQueue<Completion> inFlight = new PriorityQueue<>();
+		Map<String, Integer> concurrency = new HashMap<>();
+		long[] latencies = new long[REQUESTS];
+
+		for (int i = 0; i < REQUESTS; i++) {
+			long now = i * INTERARRIVAL;
+			while (!inFlight.isEmpty() && inFlight.peek().at <= now) {
+				Completion done = inFlight.poll();
+				concurrency.merge(done.instance.getInstanceId(), -1, Integer::sum);
+				if (feedback != null) {
+					feedback.recordCompletion(done.instance, done.at - done.startedAt, done.at);
+				}
+			}
+			ServiceInstance chosen = chooser.apply(instances, now);
+			int active = concurrency.merge(chosen.getInstanceId(), 1, Integer::sum);
+			if (feedback != null) {
+				feedback.recordStart(chosen);
+			}
+			long latency = baseLatency.get(chosen.getInstanceId()) * (20 + active) / 20;
+			latencies[i] = latency;
+			inFlight.add(new Completion(chosen, now, now + latency));
+		}
+		return latencies;
+	}
+
+	private static long percentile(long[] values, double percentile) {
+		long[] sorted = Arrays.copyOf(values, values.length);
+		Arrays.sort(sorted);
+		return sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)];
+	}
+
+	private static ServiceInstance instance(String id) {
+		return new DefaultServiceInstance(id, "inventory-service", id + ".local", 8082, false);
+	}
+
+	private record Completion(ServiceInstance instance, long startedAt, long at) implements Comparable<Completion> {
+
+		@Override
+		public int compareTo(Completion other) {
+			return Long.compare(at, other.at);
+		}
+	}
+
+}
@@ -0,0 +1,108 @@
+package com.api_gateway.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.api_gateway.dto.TokenRevocationDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+// A token user-service vouched for stays cached as valid, and the revocation feed alone has to turn it
+// away. The token has no kid, so it is validated remotely once and served from the cache after that.
+class JwtServiceRevocationTests {
+
+	private static final long ISSUED_AT = Instant.now().getEpochSecond() - 60;
+
+	private final AtomicInteger remoteCalls = new AtomicInteger();
+
+	private TokenRevocations revocations;
+	private JwtService jwtService;
+
+	@BeforeEach
+	void setUp() {
+		String validateResponse = "{\"valid\":true,\"username\":\"alice@example.com\",\"roles\":[\"USER\"],"
+				+ "\"claims\":{\"jti\":\"token-1\",\"sub\":\"alice@example.com\",\"iat\":" + ISSUED_AT + "}}";
+		WebClient.Builder webClient = WebClient.builder().exchangeFunction(request -> {
+			remoteCalls.incrementAndGet();
+			return Mono.just(ClientResponse.create(HttpStatus.OK)
+					.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE).body(validateResponse).build());
+		});
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		SecurityService securityService = new SecurityService(webClient, meterRegistry, 100, Duration.ofMinutes(5),
+				Duration.ofSeconds(30));
+		revocations = new TokenRevocations(webClient, securityService, meterRegistry,
+				"http://user-service/internal/token-revocations", Duration.ofSeconds(10));
+		jwtService = new JwtService(webClient, new JwksKeyProvider(webClient, "http://user-service/jwks",
+				Duration.ofHours(1)), revocations, new ObjectMapper(), meterRegistry, 100, Duration.ofMinutes(5),
+				Duration.ofSeconds(10));
+	}
+
+	@Test
+	void cachedValidTokenIsRejectedOnceItsJtiIsInTheFeed() {
+		String token = token();
+		assertThat(jwtService.validate(token).block().response()).containsEntry("valid", true);
+		assertThat(jwtService.validate(token).block().source()).isEqualTo(JwtService.SOURCE_CACHE);
+
+		revocations.apply(List.of(revocation("jti:token-1", Instant.now())));
+
+		JwtService.Validation validation = jwtService.validate(token).block();
+		assertThat(validation.response()).containsEntry("valid", false);
+		assertThat(validation.source()).isEqualTo(JwtService.SOURCE_CACHE);
+		assertThat(remoteCalls).hasValue(1);
+	}
+
+	@Test
+	void subjectRevocationOnlyRejectsTokensIssuedBeforeIt() {
+		String token = token();
+		jwtService.validate(token).block();
+
+		revocations.apply(List.of(revocation("sub:alice@example.com", Instant.ofEpochSecond(ISSUED_AT - 1))));
+		assertThat(jwtService.validate(token).block().response()).containsEntry("valid", true);
+
+		revocations.apply(List.of(revocation("sub:alice@example.com", Instant.ofEpochSecond(ISSUED_AT))));
+		assertThat(jwtService.validate(token).block().response()).containsEntry("valid", false);
+	}
+
+	@Test
+	void rowsReadAgainInThePollOverlapChangeNothing() {
+		String token = token();
+		jwtService.validate(token).block();
+		TokenRevocationDTO later = revocation("sub:alice@example.com", Instant.ofEpochSecond(ISSUED_AT));
+		TokenRevocationDTO earlier = revocation("sub:alice@example.com", Instant.ofEpochSecond(ISSUED_AT - 30));
+
+		revocations.apply(List.of(later));
+		revocations.apply(List.of(earlier, later));
+
+		assertThat(jwtService.validate(token).block().response()).containsEntry("valid", false);
+	}
+
+	private static TokenRevocationDTO revocation(String key, Instant revokedAt) {
+		return new TokenRevocationDTO(key, revokedAt, Instant.now().plus(Duration.ofMinutes(15)));
+	}
+
+	// Never verified locally, so only the shape matters: no kid, and an exp an hour out
+	private static String token() {
+		Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+		String header = encoder.encodeToString("{\"alg\":\"RS256\"}".getBytes(StandardCharsets.UTF_8));
+		String payload = encoder.encodeToString(("{\"sub\":\"alice@example.com\",\"exp\":"
+				+ (Instant.now().getEpochSecond() + 3600) + "}").getBytes(StandardCharsets.UTF_8));
+		return header + "." + payload + ".signature";
+	}
+
+}
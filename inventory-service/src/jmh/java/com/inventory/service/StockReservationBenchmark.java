@@ -0,0 +1,106 @@
+package com.inventory.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.Banner;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import com.inventory.InventoryApplication;
+import com.inventory.dto.ReservationLineDto;
+import com.inventory.dto.ReservationRequest;
+import com.inventory.dto.ReservationResponse;
+import com.inventory.entity.Inventory;
+import com.inventory.repository.InventoryRepo;
+
+// reserve on 16 threads, every order taking one unit of the same hot SKU plus one of the skus others
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@Threads(16)
+public class StockReservationBenchmark {
+
+	private static final int STOCK = 1_000_000_000;
+
+	@Param({ "1000" })
+	public int skus;
+
+	private ConfigurableApplicationContext context;
+	private InventoryService inventoryService;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = new SpringApplicationBuilder(Slice.class).sources(InventoryServiceImpl.class)
+				.web(WebApplicationType.NONE).bannerMode(Banner.Mode.OFF)
+				.run("--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+						"--spring.datasource.username=sa", "--spring.datasource.password=",
+						"--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+						"--spring.jpa.hibernate.ddl-auto=create-drop", "--logging.level.root=WARN");
+		inventoryService = context.getBean(InventoryService.class);
+
+		List<Inventory> stock = new ArrayList<>();
+		stock.add(Inventory.builder().skuCode("hot").quantity(STOCK).build());
+		for (int i = 0; i < skus; i++) {
+			stock.add(Inventory.builder().skuCode("sku-" + i).quantity(STOCK).build());
+		}
+		context.getBean(InventoryRepo.class).saveAll(stock);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public ReservationResponse reserve() {
+		String other = "sku-" + ThreadLocalRandom.current().nextInt(skus);
+		return inventoryService.reserve(new ReservationRequest(UUID.randomUUID().toString(),
+				List.of(new ReservationLineDto("hot", 1), new ReservationLineDto(other, 1))));
+	}
+
+	@SpringBootConfiguration
+	@ImportAutoConfiguration({ DataSourceAutoConfiguration.class, DataSourceTransactionManagerAutoConfiguration.class,
+			HibernateJpaAutoConfiguration.class, TransactionAutoConfiguration.class })
+	@EntityScan(basePackageClasses = InventoryApplication.class)
+	@EnableJpaRepositories(basePackageClasses = InventoryApplication.class)
+	static class Slice {
+
+		@Bean
+		ModelMapper modelMapper() {
+			return new ModelMapper();
+		}
+	}
+
+}
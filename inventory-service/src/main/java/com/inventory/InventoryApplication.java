@@ -5,12 +5,14 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 import com.inventory.entity.Inventory;
 import com.inventory.repository.InventoryRepo;
 
 @SpringBootApplication
 @EnableDiscoveryClient
+@EnableScheduling
 public class InventoryApplication {
 
 	public static void main(String[] args) {
@@ -20,6 +22,10 @@ public class InventoryApplication {
 	@Bean
 	CommandLineRunner loadData(InventoryRepo inventoryRepo) {
 		return args->{
+			// Seed once; re-inserting on every start would give a SKU several stock rows
+			if (inventoryRepo.count() > 0) {
+				return;
+			}
 			Inventory inventory = new Inventory();
 			inventory.setSkuCode("iphone 15");
 			inventory.setQuantity(100);
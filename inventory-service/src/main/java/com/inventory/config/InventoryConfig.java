@@ -1,6 +1,7 @@
 package com.inventory.config;
 
 import org.modelmapper.ModelMapper;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.reactive.function.client.WebClient;
@@ -16,5 +17,16 @@ public class InventoryConfig {
 	WebClient webClient() {
 		return WebClient.builder().build();
 	}
+
+	@Bean
+	@LoadBalanced
+	WebClient.Builder loadBalancedWebClientBuilder() {
+		return WebClient.builder();
+	}
+
+	@Bean
+	WebClient orderWebClient(@LoadBalanced WebClient.Builder loadBalancedWebClientBuilder) {
+		return loadBalancedWebClientBuilder.clone().baseUrl("http://order-service").build();
+	}
 	
 }
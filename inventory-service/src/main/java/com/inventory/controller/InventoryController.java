@@ -5,12 +5,17 @@ import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.inventory.dto.InventoryResponse;
+import com.inventory.dto.ReservationRequest;
+import com.inventory.dto.ReservationResponse;
 import com.inventory.service.InventoryService;
 
 @RestController
@@ -32,4 +37,42 @@ public class InventoryController {
 	public List<InventoryResponse> getAllItems() {
 		return inventoryService.getAllItems();
 	}
+
+	// Takes stock for an order; each SKU is reserved in full or not at all, see the per-SKU results
+	@PostMapping("/reserve")
+	@ResponseStatus(HttpStatus.OK)
+	public ReservationResponse reserve(@RequestBody ReservationRequest reservationRequest) {
+		return inventoryService.reserve(reservationRequest);
+	}
+
+	// Many orders in one call, e.g. a bulk order placement; each gets its own response, in request order
+	@PostMapping("/reserve/bulk")
+	@ResponseStatus(HttpStatus.OK)
+	public List<ReservationResponse> reserveAll(@RequestBody List<ReservationRequest> reservationRequests) {
+		return inventoryService.reserveAll(reservationRequests);
+	}
+
+	@PostMapping("/reservations/{orderNumber}/commit")
+	@ResponseStatus(HttpStatus.NO_CONTENT)
+	public void commit(@PathVariable String orderNumber) {
+		inventoryService.commit(orderNumber);
+	}
+
+	@PostMapping("/reservations/{orderNumber}/release")
+	@ResponseStatus(HttpStatus.NO_CONTENT)
+	public void release(@PathVariable String orderNumber) {
+		inventoryService.release(orderNumber);
+	}
+
+	@PostMapping("/reservations/commit")
+	@ResponseStatus(HttpStatus.NO_CONTENT)
+	public void commitAll(@RequestBody List<String> orderNumbers) {
+		inventoryService.commitAll(orderNumbers);
+	}
+
+	@PostMapping("/reservations/release")
+	@ResponseStatus(HttpStatus.NO_CONTENT)
+	public void releaseAll(@RequestBody List<String> orderNumbers) {
+		inventoryService.releaseAll(orderNumbers);
+	}
 }
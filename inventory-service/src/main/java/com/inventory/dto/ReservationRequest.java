@@ -0,0 +1,16 @@
+package com.inventory.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReservationRequest {
+	// Idempotency key: reserving the same order again returns the first outcome
+	private String orderNumber;
+	private List<ReservationLineDto> items;
+}
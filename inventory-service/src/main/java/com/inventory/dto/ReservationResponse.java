@@ -0,0 +1,16 @@
+package com.inventory.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReservationResponse {
+	private String orderNumber;
+	// One result per SKU, in SKU order
+	private List<SkuReservationResult> results;
+}
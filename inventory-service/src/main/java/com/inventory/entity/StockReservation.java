@@ -0,0 +1,56 @@
+package com.inventory.entity;
+
+import java.time.Instant;
+
+import org.hibernate.annotations.CreationTimestamp;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Stock taken from one SKU for one order. The inventory row is decremented when the reservation is
+// made; commit only records that the order was placed, release puts the quantity back.
+@Entity
+@Table(name = "stock_reservation", uniqueConstraints = @UniqueConstraint(name = "uk_stock_reservation_order_sku", columnNames = {
+		"order_number", "sku_code" }), indexes = @Index(name = "idx_stock_reservation_status_created", columnList = "status, created_at"))
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class StockReservation {
+
+	public enum Status {
+		RESERVED, COMMITTED, RELEASED
+	}
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(name = "order_number", nullable = false)
+	private String orderNumber;
+
+	@Column(name = "sku_code", nullable = false)
+	private String skuCode;
+
+	private Integer quantity;
+
+	@Enumerated(EnumType.STRING)
+	@Column(length = 16)
+	private Status status;
+
+	@CreationTimestamp
+	@Column(name = "created_at", updatable = false)
+	private Instant createdAt;
+}
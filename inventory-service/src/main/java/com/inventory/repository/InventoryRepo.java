@@ -1,9 +1,9 @@
 package com.inventory.repository;
 
 import java.util.List;
-import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -11,4 +11,18 @@ import com.inventory.entity.Inventory;
 
 public interface InventoryRepo extends JpaRepository<Inventory, Long>{
 	@Query("SELECT DISTINCT(i) FROM Inventory i WHERE i.skuCode in :skuCodes")
-	List<Inventory> findBySkuCode(@Param("skuCodes") List<String> skuCodes);}
+	List<Inventory> findBySkuCode(@Param("skuCodes") List<String> skuCodes);
+
+	// Takes stock only if enough is left, as one statement: concurrent reservations of the same SKU queue on
+	// the row lock and re-check the quantity, so stock can never go negative. Targets a single row in case
+	// a SKU was seeded more than once.
+	@Modifying
+	@Query("UPDATE Inventory i SET i.quantity = i.quantity - :quantity WHERE i.quantity >= :quantity AND i.id = "
+			+ "(SELECT MIN(s.id) FROM Inventory s WHERE s.skuCode = :skuCode AND s.quantity >= :quantity)")
+	int reserve(@Param("skuCode") String skuCode, @Param("quantity") int quantity);
+
+	@Modifying
+	@Query("UPDATE Inventory i SET i.quantity = i.quantity + :quantity WHERE i.id = "
+			+ "(SELECT MIN(s.id) FROM Inventory s WHERE s.skuCode = :skuCode)")
+	int restock(@Param("skuCode") String skuCode, @Param("quantity") int quantity);
+}
@@ -0,0 +1,33 @@
+package com.inventory.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.inventory.entity.StockReservation;
+import com.inventory.entity.StockReservation.Status;
+
+import jakarta.persistence.LockModeType;
+
+public interface StockReservationRepo extends JpaRepository<StockReservation, Long> {
+
+	List<StockReservation> findByOrderNumberIn(Collection<String> orderNumbers);
+
+	// Locked so a commit and a release of the same order cannot both act on a reservation
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	List<StockReservation> findByOrderNumberInAndStatus(Collection<String> orderNumbers, Status status);
+
+	@Query("SELECT DISTINCT r.orderNumber FROM StockReservation r WHERE r.status = :status AND r.createdAt < :before")
+	List<String> findOrderNumbersCreatedBefore(@Param("status") Status status, @Param("before") Instant before);
+
+	@Modifying
+	@Query("UPDATE StockReservation r SET r.status = :to WHERE r.orderNumber IN :orderNumbers AND r.status = :from")
+	int updateStatus(@Param("orderNumbers") Collection<String> orderNumbers, @Param("from") Status from,
+			@Param("to") Status to);
+}
@@ -3,6 +3,8 @@ package com.inventory.service;
 import java.util.List;
 
 import com.inventory.dto.InventoryResponse;
+import com.inventory.dto.ReservationRequest;
+import com.inventory.dto.ReservationResponse;
 
 public interface InventoryService {
 
@@ -10,4 +12,16 @@ public interface InventoryService {
 
 	public List<InventoryResponse> getAllItems();
 
+	public ReservationResponse reserve(ReservationRequest reservationRequest);
+
+	public List<ReservationResponse> reserveAll(List<ReservationRequest> reservationRequests);
+
+	public int commit(String orderNumber);
+
+	public int commitAll(List<String> orderNumbers);
+
+	public int release(String orderNumber);
+
+	public int releaseAll(List<String> orderNumbers);
+
 }
@@ -1,6 +1,15 @@
 package com.inventory.service;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
 
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -8,18 +17,27 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.inventory.dto.InventoryResponse;
+import com.inventory.dto.ReservationLineDto;
+import com.inventory.dto.ReservationRequest;
+import com.inventory.dto.ReservationResponse;
+import com.inventory.dto.SkuReservationResult;
 import com.inventory.entity.Inventory;
+import com.inventory.entity.StockReservation;
 import com.inventory.repository.InventoryRepo;
+import com.inventory.repository.StockReservationRepo;
 
 @Service
 public class InventoryServiceImpl implements InventoryService {
 
 	@Autowired
 	private InventoryRepo inventoryRepo;
-	
+
+	@Autowired
+	private StockReservationRepo reservationRepo;
+
 	@Autowired
 	private ModelMapper modelMapper;
-	
+
 	@Override
 	@Transactional(readOnly = true)
 	public List<InventoryResponse> getStockDetails(List<String> skuCodes) {
@@ -36,4 +54,119 @@ public class InventoryServiceImpl implements InventoryService {
 		return (inventoryRepo.findAll().stream().map(list -> modelMapper.map(list, InventoryResponse.class)).toList());
 	}
 
+	@Override
+	@Transactional
+	public ReservationResponse reserve(ReservationRequest reservationRequest) {
+		return reserveAll(List.of(reservationRequest)).get(0);
+	}
+
+	// One conditional update per order and SKU in a single transaction. The updates of all orders are
+	// applied in SKU order so two requests sharing SKUs lock the rows in the same order and cannot
+	// deadlock. A SKU without enough stock is left untouched and reported; the caller decides whether to
+	// go ahead with the rest of that order or release it. Orders do not affect each other's outcome
+	// beyond the stock they take.
+	@Override
+	@Transactional
+	public List<ReservationResponse> reserveAll(List<ReservationRequest> reservationRequests) {
+		Map<String, Map<String, Integer>> requested = new LinkedHashMap<>();
+		for (ReservationRequest reservationRequest : reservationRequests) {
+			requested.putIfAbsent(reservationRequest.getOrderNumber(), reservationRequest.getItems().stream()
+					.collect(Collectors.toMap(ReservationLineDto::getSkuCode, ReservationLineDto::getQuantity,
+							Integer::sum, TreeMap::new)));
+		}
+
+		// Retried orders get the outcome of the first attempt instead of taking the stock twice
+		Map<String, List<StockReservation>> existing = reservationRepo.findByOrderNumberIn(requested.keySet())
+				.stream().collect(Collectors.groupingBy(StockReservation::getOrderNumber));
+
+		List<StockReservation> lines = new ArrayList<>();
+		requested.forEach((orderNumber, items) -> {
+			if (!existing.containsKey(orderNumber)) {
+				items.forEach((skuCode, quantity) -> lines.add(StockReservation.builder().orderNumber(orderNumber)
+						.skuCode(skuCode).quantity(quantity).status(StockReservation.Status.RESERVED).build()));
+			}
+		});
+		lines.sort(Comparator.comparing(StockReservation::getSkuCode));
+
+		List<StockReservation> reservations = new ArrayList<>();
+		for (StockReservation line : lines) {
+			if (inventoryRepo.reserve(line.getSkuCode(), line.getQuantity()) == 1) {
+				reservations.add(line);
+			}
+		}
+		reservationRepo.saveAll(reservations);
+
+		Set<String> skuCodes = new TreeSet<>();
+		requested.values().forEach(items -> skuCodes.addAll(items.keySet()));
+		Map<String, Integer> stock = stockOf(new ArrayList<>(skuCodes));
+		Map<String, List<StockReservation>> held = new HashMap<>(existing);
+		reservations.forEach(reservation -> held
+				.computeIfAbsent(reservation.getOrderNumber(), orderNumber -> new ArrayList<>()).add(reservation));
+
+		return reservationRequests.stream().map(reservationRequest -> response(reservationRequest.getOrderNumber(),
+				requested.get(reservationRequest.getOrderNumber()),
+				held.getOrDefault(reservationRequest.getOrderNumber(), List.of()), stock)).toList();
+	}
+
+	@Override
+	@Transactional
+	public int commit(String orderNumber) {
+		return commitAll(List.of(orderNumber));
+	}
+
+	@Override
+	@Transactional
+	public int commitAll(List<String> orderNumbers) {
+		return reservationRepo.updateStatus(orderNumbers, StockReservation.Status.RESERVED,
+				StockReservation.Status.COMMITTED);
+	}
+
+	@Override
+	@Transactional
+	public int release(String orderNumber) {
+		return releaseAll(List.of(orderNumber));
+	}
+
+	// Puts back whatever the orders still hold; committed or already released reservations are left alone
+	@Override
+	@Transactional
+	public int releaseAll(List<String> orderNumbers) {
+		List<StockReservation> reserved = reservationRepo.findByOrderNumberInAndStatus(orderNumbers,
+				StockReservation.Status.RESERVED);
+		reserved.sort(Comparator.comparing(StockReservation::getSkuCode));
+		for (StockReservation reservation : reserved) {
+			inventoryRepo.restock(reservation.getSkuCode(), reservation.getQuantity());
+			reservation.setStatus(StockReservation.Status.RELEASED);
+		}
+		return reserved.size();
+	}
+
+	private ReservationResponse response(String orderNumber, Map<String, Integer> requested,
+			List<StockReservation> held, Map<String, Integer> stock) {
+		Map<String, StockReservation> bySku = held.stream()
+				.collect(Collectors.toMap(StockReservation::getSkuCode, reservation -> reservation));
+		List<SkuReservationResult> results = new ArrayList<>();
+		for (Map.Entry<String, Integer> line : requested.entrySet()) {
+			StockReservation reservation = bySku.get(line.getKey());
+			boolean reserved = reservation != null && reservation.getStatus() != StockReservation.Status.RELEASED;
+			results.add(result(line.getKey(), line.getValue(), reserved, stock));
+		}
+		return new ReservationResponse(orderNumber, results);
+	}
+
+	private Map<String, Integer> stockOf(List<String> skuCodes) {
+		return inventoryRepo.findBySkuCode(skuCodes).stream()
+				.collect(Collectors.toMap(Inventory::getSkuCode, Inventory::getQuantity, Integer::max));
+	}
+
+	private static SkuReservationResult result(String skuCode, int requested, boolean reserved,
+			Map<String, Integer> stock) {
+		Integer available = stock.get(skuCode);
+		SkuReservationResult.Status status = reserved ? SkuReservationResult.Status.RESERVED
+				: available == null ? SkuReservationResult.Status.NOT_FOUND
+						: SkuReservationResult.Status.INSUFFICIENT_STOCK;
+		return SkuReservationResult.builder().skuCode(skuCode).requested(requested).status(status)
+				.available(available != null ? available : 0).build();
+	}
+
 }
@@ -0,0 +1,35 @@
+package com.inventory.service;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+// Asks order-service which orders it has saved. Only the reservation sweeper calls it, off the request
+// path, so the call blocks.
+@Component
+public class OrderClient {
+
+	private static final ParameterizedTypeReference<List<String>> ORDER_NUMBERS = new ParameterizedTypeReference<>() {
+	};
+
+	private final WebClient orderWebClient;
+	private final Duration timeout;
+
+	public OrderClient(@Qualifier("orderWebClient") WebClient orderWebClient,
+			@Value("${inventory.order-client.timeout:10s}") Duration timeout) {
+		this.orderWebClient = orderWebClient;
+		this.timeout = timeout;
+	}
+
+	public List<String> placedOrderNumbers(List<String> orderNumbers) {
+		List<String> placed = orderWebClient.post().uri("/api/order/placed").bodyValue(orderNumbers).retrieve()
+				.bodyToMono(ORDER_NUMBERS).block(timeout);
+		return placed == null ? List.of() : placed;
+	}
+
+}
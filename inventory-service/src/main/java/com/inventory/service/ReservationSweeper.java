@@ -0,0 +1,68 @@
+package com.inventory.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.inventory.entity.StockReservation;
+import com.inventory.repository.StockReservationRepo;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Settles reservations that were never committed or released. order-service is asked which of the orders
+// it saved: those lost their commit and are committed now, the rest were abandoned between reserving and
+// saving and are released, each in its own transaction. Stock of a saved order is never released; if
+// order-service cannot be asked, nothing is settled until the next sweep. The ttl must stay well above
+// the time it takes to place an order, so an order still being saved is not mistaken for an abandoned one.
+@Component
+@Slf4j
+public class ReservationSweeper {
+
+	private final StockReservationRepo reservationRepo;
+	private final InventoryService inventoryService;
+	private final OrderClient orderClient;
+	private final Duration ttl;
+
+	public ReservationSweeper(StockReservationRepo reservationRepo, InventoryService inventoryService,
+			OrderClient orderClient, @Value("${inventory.reservation.ttl:30m}") Duration ttl) {
+		this.reservationRepo = reservationRepo;
+		this.inventoryService = inventoryService;
+		this.orderClient = orderClient;
+		this.ttl = ttl;
+	}
+
+	@Scheduled(fixedDelayString = "${inventory.reservation.sweep-interval-ms:60000}")
+	public void releaseExpired() {
+		List<String> expired = reservationRepo.findOrderNumbersCreatedBefore(StockReservation.Status.RESERVED,
+				Instant.now().minus(ttl));
+		if (expired.isEmpty()) {
+			return;
+		}
+
+		Set<String> placed;
+		try {
+			placed = new HashSet<>(orderClient.placedOrderNumbers(expired));
+		} catch (RuntimeException e) {
+			log.error("Could not check {} expired orders with order-service, nothing is released", expired.size(), e);
+			return;
+		}
+
+		if (!placed.isEmpty()) {
+			int committed = inventoryService.commitAll(List.copyOf(placed));
+			log.warn("Committed {} expired reservations of {} saved orders", committed, placed.size());
+		}
+		for (String orderNumber : expired) {
+			if (!placed.contains(orderNumber)) {
+				int released = inventoryService.release(orderNumber);
+				log.warn("Released {} expired reservations of order {}", released, orderNumber);
+			}
+		}
+	}
+
+}
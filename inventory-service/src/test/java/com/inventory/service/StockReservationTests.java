@@ -0,0 +1,224 @@
+package com.inventory.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.inventory.config.InventoryConfig;
+import com.inventory.dto.ReservationLineDto;
+import com.inventory.dto.ReservationRequest;
+import com.inventory.dto.ReservationResponse;
+import com.inventory.dto.SkuReservationResult;
+import com.inventory.entity.Inventory;
+import com.inventory.entity.StockReservation;
+import com.inventory.repository.InventoryRepo;
+import com.inventory.repository.StockReservationRepo;
+
+// Reservations never oversell, and the sweeper releases only orders that were never saved
+@DataJpaTest(properties = { "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect" })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ InventoryServiceImpl.class, InventoryConfig.class })
+class StockReservationTests {
+
+	private static final int THREADS = 16;
+	private static final int ORDERS_PER_THREAD = 40;
+	private static final int STOCK = 200;
+
+	@Autowired
+	private InventoryService inventoryService;
+
+	@Autowired
+	private InventoryRepo inventoryRepo;
+
+	@Autowired
+	private StockReservationRepo reservationRepo;
+
+	@BeforeEach
+	void setUp() {
+		inventoryRepo.save(Inventory.builder().skuCode("contended").quantity(STOCK).build());
+		inventoryRepo.save(Inventory.builder().skuCode("plenty").quantity(1_000_000).build());
+	}
+
+	@AfterEach
+	void tearDown() {
+		reservationRepo.deleteAll();
+		inventoryRepo.deleteAll();
+	}
+
+	@Test
+	void parallelOrdersForTheSameSkuNeverOversell() throws Exception {
+		List<Integer> reservedPerThread = race(THREADS, thread -> {
+			int reserved = 0;
+			for (int i = 0; i < ORDERS_PER_THREAD; i++) {
+				int quantity = 1 + ThreadLocalRandom.current().nextInt(3);
+				ReservationResponse response = inventoryService.reserve(order(
+						new ReservationLineDto("plenty", 1), new ReservationLineDto("contended", quantity)));
+				SkuReservationResult contended = response.getResults().stream()
+						.filter(result -> "contended".equals(result.getSkuCode())).findFirst().get();
+				if (contended.getStatus() == SkuReservationResult.Status.RESERVED) {
+					reserved += quantity;
+				}
+			}
+			return reserved;
+		});
+
+		int reserved = reservedPerThread.stream().mapToInt(Integer::intValue).sum();
+		int left = stock("contended");
+		int orders = THREADS * ORDERS_PER_THREAD;
+		assertThat(left).isGreaterThanOrEqualTo(0);
+		assertThat(reserved + left).isEqualTo(STOCK);
+		assertThat(stock("plenty")).isEqualTo(1_000_000 - orders);
+	}
+
+	@Test
+	void insufficientSkuIsReportedAndLeftUntouched() {
+		ReservationResponse response = inventoryService
+				.reserve(order(new ReservationLineDto("contended", STOCK + 1), new ReservationLineDto("missing", 1),
+						new ReservationLineDto("plenty", 5)));
+
+		assertThat(response.getResults()).extracting(SkuReservationResult::getStatus).containsExactly(
+				SkuReservationResult.Status.INSUFFICIENT_STOCK, SkuReservationResult.Status.NOT_FOUND,
+				SkuReservationResult.Status.RESERVED);
+		assertThat(response.getResults().get(0).getAvailable()).isEqualTo(STOCK);
+		assertThat(stock("contended")).isEqualTo(STOCK);
+		assertThat(stock("plenty")).isEqualTo(1_000_000 - 5);
+	}
+
+	@Test
+	void retriedReservationTakesStockOnceAndReleaseReturnsIt() {
+		ReservationRequest request = order(new ReservationLineDto("contended", 10));
+
+		inventoryService.reserve(request);
+		ReservationResponse retried = inventoryService.reserve(request);
+
+		assertThat(retried.getResults().get(0).getStatus()).isEqualTo(SkuReservationResult.Status.RESERVED);
+		assertThat(stock("contended")).isEqualTo(STOCK - 10);
+
+		assertThat(inventoryService.release(request.getOrderNumber())).isEqualTo(1);
+		assertThat(inventoryService.release(request.getOrderNumber())).isZero();
+		assertThat(inventoryService.commit(request.getOrderNumber())).isZero();
+		assertThat(stock("contended")).isEqualTo(STOCK);
+	}
+
+	@Test
+	void bulkReservationGivesEachOrderItsOwnOutcome() {
+		ReservationRequest first = order(new ReservationLineDto("contended", STOCK - 5),
+				new ReservationLineDto("plenty", 1));
+		ReservationRequest tooLarge = order(new ReservationLineDto("contended", 10));
+		ReservationRequest fits = order(new ReservationLineDto("plenty", 2), new ReservationLineDto("contended", 5));
+
+		List<ReservationResponse> responses = inventoryService.reserveAll(List.of(first, tooLarge, fits));
+
+		assertThat(responses).extracting(ReservationResponse::getOrderNumber).containsExactly(first.getOrderNumber(),
+				tooLarge.getOrderNumber(), fits.getOrderNumber());
+		assertThat(responses.get(1).getResults().get(0).getStatus())
+				.isEqualTo(SkuReservationResult.Status.INSUFFICIENT_STOCK);
+		assertThat(responses.get(2).getResults()).extracting(SkuReservationResult::getStatus)
+				.containsOnly(SkuReservationResult.Status.RESERVED);
+		assertThat(stock("contended")).isZero();
+
+		// A retried bulk request replays every order
+		List<ReservationResponse> retried = inventoryService.reserveAll(List.of(first, tooLarge, fits));
+		assertThat(retried).isEqualTo(responses);
+		assertThat(stock("plenty")).isEqualTo(1_000_000 - 3);
+
+		assertThat(inventoryService.releaseAll(List.of(first.getOrderNumber(), fits.getOrderNumber()))).isEqualTo(4);
+		assertThat(stock("contended")).isEqualTo(STOCK);
+	}
+
+	@Test
+	void sweeperCommitsSavedOrdersAndReleasesOnlyAbandonedOnes() {
+		ReservationRequest saved = order(new ReservationLineDto("contended", 10));
+		ReservationRequest abandoned = order(new ReservationLineDto("contended", 20));
+		inventoryService.reserveAll(List.of(saved, abandoned));
+		OrderClient orderClient = mock(OrderClient.class);
+		when(orderClient.placedOrderNumbers(anyList())).thenReturn(List.of(saved.getOrderNumber()));
+
+		sweeper(orderClient).releaseExpired();
+
+		assertThat(stock("contended")).isEqualTo(STOCK - 10);
+		assertThat(status(saved)).containsOnly(StockReservation.Status.COMMITTED);
+		assertThat(status(abandoned)).containsOnly(StockReservation.Status.RELEASED);
+	}
+
+	@Test
+	void sweeperReleasesNothingWhenOrderServiceCannotBeAsked() {
+		ReservationRequest request = order(new ReservationLineDto("contended", 10));
+		inventoryService.reserve(request);
+		OrderClient orderClient = mock(OrderClient.class);
+		when(orderClient.placedOrderNumbers(anyList())).thenThrow(new IllegalStateException("order-service is down"));
+
+		sweeper(orderClient).releaseExpired();
+
+		assertThat(stock("contended")).isEqualTo(STOCK - 10);
+		assertThat(status(request)).containsOnly(StockReservation.Status.RESERVED);
+	}
+
+	// A negative ttl makes every reservation count as expired
+	private ReservationSweeper sweeper(OrderClient orderClient) {
+		return new ReservationSweeper(reservationRepo, inventoryService, orderClient, Duration.ofMinutes(-1));
+	}
+
+	private List<StockReservation.Status> status(ReservationRequest request) {
+		return reservationRepo.findByOrderNumberIn(List.of(request.getOrderNumber())).stream()
+				.map(StockReservation::getStatus).toList();
+	}
+
+	private int stock(String skuCode) {
+		return inventoryRepo.findBySkuCode(List.of(skuCode)).get(0).getQuantity();
+	}
+
+	private static ReservationRequest order(ReservationLineDto... lines) {
+		return new ReservationRequest(UUID.randomUUID().toString(), List.of(lines));
+	}
+
+	// Releases all threads together so their reservations overlap as much as possible
+	private static List<Integer> race(int threads, ThreadTask task) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		CountDownLatch start = new CountDownLatch(1);
+		try {
+			List<Future<Integer>> futures = new ArrayList<>();
+			for (int i = 0; i < threads; i++) {
+				int thread = i;
+				futures.add(executor.submit(() -> {
+					start.await();
+					return task.run(thread);
+				}));
+			}
+			start.countDown();
+			List<Integer> results = new ArrayList<>();
+			for (Future<Integer> future : futures) {
+				results.add(future.get());
+			}
+			return results;
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@FunctionalInterface
+	private interface ThreadTask {
+		int run(int thread) throws Exception;
+	}
+
+}
@@ -0,0 +1,153 @@
+package com.order.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.Banner;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.order.OrderApplication;
+import com.order.dto.OrderLineItemsDto;
+import com.order.dto.OrderRequest;
+import com.order.dto.ReservationRequest;
+import com.order.dto.ReservationResponse;
+import com.order.dto.SkuReservationResult;
+
+// The same orders placed one request at a time ("single") and as one bulk request ("bulk")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BulkOrderBenchmark {
+
+	@Param({ "single", "bulk" })
+	public String mode;
+
+	@Param({ "500" })
+	public int orders;
+
+	private ConfigurableApplicationContext context;
+	private OrderService orderService;
+	private List<OrderRequest> requests;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = new SpringApplicationBuilder(Slice.class).sources(OrderServiceImpl.class)
+				.web(WebApplicationType.NONE).bannerMode(Banner.Mode.OFF)
+				.run("--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+						"--spring.datasource.driver-class-name=org.h2.Driver", "--spring.datasource.username=sa",
+						"--spring.datasource.password=", "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+						"--spring.jpa.hibernate.ddl-auto=create-drop", "--spring.jpa.show-sql=false",
+						"--logging.level.root=WARN");
+		orderService = context.getBean(OrderService.class);
+
+		requests = new ArrayList<>(orders);
+		for (int i = 0; i < orders; i++) {
+			List<OrderLineItemsDto> items = List.of(new OrderLineItemsDto("sku-" + i % 100, BigDecimal.TEN, 1),
+					new OrderLineItemsDto("sku-" + (i + 1) % 100, BigDecimal.TEN, 1));
+			requests.add(new OrderRequest(items));
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public Object place() throws Exception {
+		if ("bulk".equals(mode)) {
+			return orderService.placeOrders(requests).get();
+		}
+		List<CompletableFuture<String>> placed = requests.stream().map(orderService::placeOrder)
+				.collect(Collectors.toList());
+		return CompletableFuture.allOf(placed.toArray(CompletableFuture[]::new)).get();
+	}
+
+	// Every requested SKU is reserved
+	private static ReservationResponse reserved(ReservationRequest reservationRequest) {
+		List<SkuReservationResult> results = reservationRequest.getItems().stream()
+				.map(line -> SkuReservationResult.builder().skuCode(line.getSkuCode()).requested(line.getQuantity())
+						.status(SkuReservationResult.Status.RESERVED).available(100).build())
+				.collect(Collectors.toList());
+		return new ReservationResponse(reservationRequest.getOrderNumber(), results);
+	}
+
+	@SpringBootConfiguration
+	@ImportAutoConfiguration({ DataSourceAutoConfiguration.class, DataSourceTransactionManagerAutoConfiguration.class,
+			HibernateJpaAutoConfiguration.class, TransactionAutoConfiguration.class })
+	@EntityScan(basePackageClasses = OrderApplication.class)
+	@EnableJpaRepositories(basePackageClasses = OrderApplication.class)
+	static class Slice {
+
+		@Bean
+		ModelMapper modelMapper() {
+			return new ModelMapper();
+		}
+
+		@Bean
+		ObjectMapper objectMapper() {
+			return new ObjectMapper().findAndRegisterModules();
+		}
+
+		@Bean(destroyMethod = "shutdownNow")
+		OrderPersistenceExecutor orderPersistenceExecutor() {
+			return new OrderPersistenceExecutor(Runtime.getRuntime().availableProcessors(), 10_000);
+		}
+
+		@Bean
+		@SuppressWarnings("unchecked")
+		InventoryClient inventoryClient() {
+			InventoryClient inventoryClient = mock(InventoryClient.class);
+			when(inventoryClient.reserve(any(ReservationRequest.class))).thenAnswer(
+					invocation -> CompletableFuture.completedFuture(reserved(invocation.getArgument(0))));
+			when(inventoryClient.reserveAll(anyList())).thenAnswer(invocation -> CompletableFuture.completedFuture(
+					((List<ReservationRequest>) invocation.getArgument(0)).stream().map(BulkOrderBenchmark::reserved)
+							.collect(Collectors.toList())));
+			when(inventoryClient.commit(anyString())).thenReturn(CompletableFuture.completedFuture(null));
+			when(inventoryClient.release(anyString())).thenReturn(CompletableFuture.completedFuture(null));
+			when(inventoryClient.commitAll(anyList())).thenReturn(CompletableFuture.completedFuture(null));
+			when(inventoryClient.releaseAll(anyList())).thenReturn(CompletableFuture.completedFuture(null));
+			return inventoryClient;
+		}
+	}
+
+}
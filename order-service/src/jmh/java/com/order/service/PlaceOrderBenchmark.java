@@ -0,0 +1,170 @@
+package com.order.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.HttpMessageWriter;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.mock.http.client.reactive.MockClientHttpRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.reactive.function.BodyInserter;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.order.dto.OrderLineItemsDto;
+import com.order.dto.OrderRequest;
+import com.order.dto.ReservationRequest;
+import com.order.dto.ReservationResponse;
+import com.order.dto.SkuReservationResult;
+import com.order.entity.Order;
+import com.order.entity.OrderOutbox;
+import com.order.repository.OrderOutboxRepo;
+import com.order.repository.OrderRepo;
+
+import reactor.core.publisher.Mono;
+
+// placeOrder on every core at once, with inventory reservations answered in-process and the save
+// standing in as a fixed amount of CPU work, on a persistence pool with a thread per core. Nothing
+// serializes the saves any more, so rerun with -t 1 to see throughput scale with threads.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(Threads.MAX)
+public class PlaceOrderBenchmark {
+
+	private static final ObjectMapper JSON = new ObjectMapper();
+
+	private static final BodyInserter.Context WRITE_CONTEXT = new BodyInserter.Context() {
+		@Override
+		public List<HttpMessageWriter<?>> messageWriters() {
+			return ExchangeStrategies.withDefaults().messageWriters();
+		}
+
+		@Override
+		public Optional<ServerHttpRequest> serverRequest() {
+			return Optional.empty();
+		}
+
+		@Override
+		public Map<String, Object> hints() {
+			return Map.of();
+		}
+	};
+
+	// Work done by each save, in Blackhole CPU tokens
+	private static final long SAVE_TOKENS = 2_000;
+
+	@Param({ "10000" })
+	public int skus;
+
+	private OrderServiceImpl orderService;
+
+	private OrderPersistenceExecutor persistenceExecutor;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		// Keep per-order logging from serializing the threads on the console appender
+		((ch.qos.logback.classic.Logger) LoggerFactory.getLogger("com.order"))
+				.setLevel(ch.qos.logback.classic.Level.WARN);
+
+		OrderRepo orderRepo = mock(OrderRepo.class);
+		when(orderRepo.save(any(Order.class))).thenAnswer(invocation -> {
+			Blackhole.consumeCPU(SAVE_TOKENS);
+			return invocation.getArgument(0);
+		});
+		OrderOutboxRepo outboxRepo = mock(OrderOutboxRepo.class);
+		when(outboxRepo.save(any(OrderOutbox.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+		orderService = new OrderServiceImpl();
+		ReflectionTestUtils.setField(orderService, "modelMapper", new ModelMapper());
+		ReflectionTestUtils.setField(orderService, "orderRepo", orderRepo);
+		ReflectionTestUtils.setField(orderService, "inventoryClient",
+				new InventoryClient(WebClient.builder().exchangeFunction(PlaceOrderBenchmark::inventory).build()));
+		persistenceExecutor = new OrderPersistenceExecutor(Runtime.getRuntime().availableProcessors(), 10_000);
+		ReflectionTestUtils.setField(orderService, "persistenceExecutor", persistenceExecutor);
+		ReflectionTestUtils.setField(orderService, "outboxRepo", outboxRepo);
+		ReflectionTestUtils.setField(orderService, "transactionTemplate",
+				new TransactionTemplate(mock(PlatformTransactionManager.class)));
+		ReflectionTestUtils.setField(orderService, "objectMapper", new ObjectMapper().findAndRegisterModules());
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		persistenceExecutor.shutdownNow();
+	}
+
+	@Benchmark
+	public String placeOrder() throws Exception {
+		return orderService.placeOrder(randomOrder()).get();
+	}
+
+	private OrderRequest randomOrder() {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		int lines = 1 + random.nextInt(3);
+		List<OrderLineItemsDto> items = random.ints(lines, 0, skus)
+				.mapToObj(sku -> new OrderLineItemsDto("sku-" + sku, BigDecimal.TEN, 1)).collect(Collectors.toList());
+		return new OrderRequest(items);
+	}
+
+	// Every requested SKU is reserved; commit and release are accepted without a body
+	private static Mono<ClientResponse> inventory(ClientRequest request) {
+		if (!request.url().getPath().endsWith("/reserve")) {
+			return Mono.just(ClientResponse.create(HttpStatus.NO_CONTENT).build());
+		}
+		MockClientHttpRequest written = new MockClientHttpRequest(request.method(), request.url());
+		return request.body().insert(written, WRITE_CONTEXT).then(written.getBodyAsString()).map(json -> {
+			try {
+				ReservationRequest reservation = JSON.readValue(json, ReservationRequest.class);
+				List<SkuReservationResult> results = reservation.getItems().stream()
+						.map(line -> SkuReservationResult.builder().skuCode(line.getSkuCode())
+								.requested(line.getQuantity()).status(SkuReservationResult.Status.RESERVED)
+								.available(100).build())
+						.collect(Collectors.toList());
+				String body = JSON.writeValueAsString(new ReservationResponse(reservation.getOrderNumber(), results));
+				return ClientResponse.create(HttpStatus.OK)
+						.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE).body(body).build();
+			} catch (JsonProcessingException e) {
+				throw new IllegalStateException(e);
+			}
+		});
+	}
+
+}
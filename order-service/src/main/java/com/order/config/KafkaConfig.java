@@ -22,6 +22,12 @@ public class KafkaConfig {
 	
 	@Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
+
+	@Value("${order.kafka.linger-ms:5}")
+	private int lingerMs;
+
+	@Value("${order.kafka.batch-size:65536}")
+	private int batchSize;
 	
 	@Bean
 	public NewTopic newTopic() {
@@ -35,6 +41,13 @@ public class KafkaConfig {
 		props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
 		props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
         props.put(JsonSerializer.TYPE_MAPPINGS, "event:com.order.events.OrderPlacedEvent");
+		// The outbox relay resends whole batches; idempotence keeps the producer's own retries from
+		// adding duplicates on top of that
+		props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+		props.put(ProducerConfig.ACKS_CONFIG, "all");
+		props.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
+		props.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+		props.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
 
 		return props;
 	}
@@ -1,21 +1,61 @@
 package com.order.config;
 
+import java.time.Duration;
+
 import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import com.order.loadbalancer.PeakEwmaLoadBalancerConfiguration;
+import com.order.service.OrderPersistenceExecutor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
 @Configuration
+@LoadBalancerClients(defaultConfiguration = PeakEwmaLoadBalancerConfiguration.class)
 public class OrderConfig {
 	@Bean
 	ModelMapper modelMapper() {
 		return new ModelMapper();
 	}
-	
+
 	@Bean
 	@LoadBalanced
 	WebClient.Builder webClientBuilder() {
 		return WebClient.builder();
 	}
+
+	// Built once and shared. Calls beyond max-connections wait for a free connection instead of
+	// opening more, and give up after pending-acquire-timeout once pending-acquire-max are waiting.
+	@Bean
+	WebClient inventoryWebClient(WebClient.Builder webClientBuilder,
+			@Value("${order.inventory-client.max-connections:500}") int maxConnections,
+			@Value("${order.inventory-client.pending-acquire-max:5000}") int pendingAcquireMax,
+			@Value("${order.inventory-client.pending-acquire-timeout:5s}") Duration pendingAcquireTimeout) {
+		ConnectionProvider connections = ConnectionProvider.builder("inventory-client").maxConnections(maxConnections)
+				.pendingAcquireMaxCount(pendingAcquireMax).pendingAcquireTimeout(pendingAcquireTimeout).metrics(true)
+				.build();
+		return webClientBuilder.clone().baseUrl("http://inventory-service")
+				.clientConnector(new ReactorClientHttpConnector(HttpClient.create(connections))).build();
+	}
+
+	@Bean
+	OrderPersistenceExecutor orderPersistenceExecutor(MeterRegistry meterRegistry,
+			@Value("${order.persistence.threads:10}") int threads,
+			@Value("${order.persistence.queue-capacity:1000}") int queueCapacity) {
+		OrderPersistenceExecutor executor = new OrderPersistenceExecutor(Math.max(1, threads), queueCapacity);
+		new ExecutorServiceMetrics(executor, "order.persistence", Tags.empty()).bindTo(meterRegistry);
+		meterRegistry.more().counter("order.persistence.rejected", Tags.empty(), executor,
+				OrderPersistenceExecutor::getRejectedCount);
+		return executor;
+	}
 }
@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -11,7 +12,9 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
+import com.order.dto.BulkOrderResponse;
 import com.order.dto.OrderRequest;
 import com.order.dto.OrderResponse;
 import com.order.service.OrderService;
@@ -22,6 +25,9 @@ public class OrderController {
 	
 	@Autowired
 	private OrderService orderService;
+
+	@Value("${order.bulk.max-orders:1000}")
+	private int maxBulkOrders;
 	
 	@PostMapping("/placeorder")
 	@ResponseStatus(HttpStatus.CREATED)
@@ -29,6 +35,24 @@ public class OrderController {
 		return orderService.placeOrder(orderRequest);
 	}
 	
+	// Many orders in one call; each order gets its own result and a rejected order does not fail the others
+	@PostMapping("/bulk-placeorder")
+	@ResponseStatus(HttpStatus.OK)
+	public CompletableFuture<BulkOrderResponse> placeOrders(@RequestBody List<OrderRequest> orderRequests) {
+		if (orderRequests.size() > maxBulkOrders) {
+			throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+					"At most " + maxBulkOrders + " orders per request");
+		}
+		return orderService.placeOrders(orderRequests);
+	}
+	
+	// Which of the given order numbers were saved; used by the inventory-service reservation sweeper
+	@PostMapping("/placed")
+	@ResponseStatus(HttpStatus.OK)
+	public List<String> findPlacedOrderNumbers(@RequestBody List<String> orderNumbers) {
+		return orderService.findPlacedOrderNumbers(orderNumbers);
+	}
+
 	@GetMapping("/getallorders")
 	@ResponseStatus(HttpStatus.OK)
 	public List<OrderResponse> getAllOrders() {
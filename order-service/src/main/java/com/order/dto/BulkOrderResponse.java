@@ -0,0 +1,23 @@
+package com.order.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BulkOrderResponse {
+
+	// Placed in full or in part
+	private int placed;
+
+	private int notPlaced;
+
+	// One result per order, in request order
+	private List<BulkOrderResult> results;
+}
@@ -0,0 +1,28 @@
+package com.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BulkOrderResult {
+
+	public enum Status {
+		PLACED, PARTIAL, OUT_OF_STOCK, REJECTED, FAILED
+	}
+
+	// Position of the order in the request, starting at 0
+	private int index;
+
+	// Set only for placed and partially placed orders
+	private String orderNumber;
+
+	private Status status;
+
+	// Same text the single-order endpoint returns, or why the order was not placed
+	private String message;
+}
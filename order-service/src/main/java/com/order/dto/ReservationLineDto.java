@@ -0,0 +1,13 @@
+package com.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReservationLineDto {
+	private String skuCode;
+	private Integer quantity;
+}
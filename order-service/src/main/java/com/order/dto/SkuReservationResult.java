@@ -0,0 +1,23 @@
+package com.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class SkuReservationResult {
+
+	public enum Status {
+		RESERVED, INSUFFICIENT_STOCK, NOT_FOUND
+	}
+
+	private String skuCode;
+	private Integer requested;
+	private Status status;
+	// Stock left after the attempt; for a failed SKU this is what could have been reserved
+	private Integer available;
+}
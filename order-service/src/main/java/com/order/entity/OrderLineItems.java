@@ -6,6 +6,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -20,7 +21,8 @@ import lombok.Setter;
 @NoArgsConstructor
 public class OrderLineItems {
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orderlineitems_seq")
+	@SequenceGenerator(name = "orderlineitems_seq", sequenceName = "orderlineitems_seq", allocationSize = 50)
 	private Long id;
 	private String skuCode;
 	private BigDecimal price;
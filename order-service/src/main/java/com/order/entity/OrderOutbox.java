@@ -0,0 +1,51 @@
+package com.order.entity;
+
+import java.time.Instant;
+
+import org.hibernate.annotations.CreationTimestamp;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// An OrderPlacedEvent waiting to be published. Written in the transaction that saves the order, so an
+// event exists exactly when the order does; the relay sets sent_at once Kafka has acknowledged it.
+@Entity
+@Table(name = "order_outbox", indexes = @Index(name = "idx_order_outbox_sent_id", columnList = "sent_at, id"))
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class OrderOutbox {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_outbox_seq")
+	@SequenceGenerator(name = "order_outbox_seq", sequenceName = "order_outbox_seq", allocationSize = 50)
+	private Long id;
+
+	// Used as the record key so the events of one order stay on one partition
+	@Column(name = "order_number", nullable = false)
+	private String orderNumber;
+
+	// The event as JSON
+	@Lob
+	@Column(nullable = false)
+	private String payload;
+
+	@CreationTimestamp
+	@Column(name = "created_at", updatable = false)
+	private Instant createdAt;
+
+	@Column(name = "sent_at")
+	private Instant sentAt;
+}
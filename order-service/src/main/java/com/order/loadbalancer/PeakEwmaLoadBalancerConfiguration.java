@@ -0,0 +1,24 @@
+package com.order.loadbalancer;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+// Per-client configuration referenced from @LoadBalancerClients; deliberately not a
+// @Configuration so component scanning does not register it in the parent context.
+public class PeakEwmaLoadBalancerConfiguration {
+
+	@Bean
+	public PeakEwmaLoadBalancer peakEwmaLoadBalancer(Environment environment,
+			LoadBalancerClientFactory loadBalancerClientFactory) {
+		String name = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+		long decayMs = environment.getProperty("loadbalancer.peak-ewma.decay-ms", Long.class, 10_000L);
+		return new PeakEwmaLoadBalancer(
+				loadBalancerClientFactory.getLazyProvider(name, ServiceInstanceListSupplier.class), name,
+				TimeUnit.MILLISECONDS.toNanos(decayMs));
+	}
+
+}
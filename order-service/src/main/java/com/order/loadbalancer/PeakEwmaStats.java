@@ -0,0 +1,58 @@
+package com.order.loadbalancer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Latency and load seen by one instance. The latency estimate jumps straight to any
+// slower observation (the peak) and decays exponentially back towards faster ones.
+class PeakEwmaStats {
+
+	// Cost of an instance that has requests in flight but no latency observation yet
+	private static final double PENALTY_NANOS = 1_000_000_000.0;
+
+	private final double decayNanos;
+	private final AtomicInteger outstanding = new AtomicInteger();
+
+	private double ewmaNanos;
+	private long stampNanos;
+
+	PeakEwmaStats(long decayNanos, long nowNanos) {
+		this.decayNanos = decayNanos;
+		this.stampNanos = nowNanos;
+	}
+
+	void start() {
+		outstanding.incrementAndGet();
+	}
+
+	void complete(long rttNanos, long nowNanos) {
+		outstanding.updateAndGet(current -> Math.max(0, current - 1));
+		observe(rttNanos, nowNanos);
+	}
+
+	synchronized void observe(long rttNanos, long nowNanos) {
+		if (rttNanos > ewmaNanos) {
+			ewmaNanos = rttNanos;
+		} else {
+			double elapsed = Math.max(0, nowNanos - stampNanos);
+			double weight = Math.exp(-elapsed / decayNanos);
+			ewmaNanos = ewmaNanos * weight + rttNanos * (1 - weight);
+		}
+		stampNanos = Math.max(stampNanos, nowNanos);
+	}
+
+	synchronized double cost(long nowNanos) {
+		int pending = outstanding.get();
+		if (ewmaNanos == 0 && pending != 0) {
+			return PENALTY_NANOS + pending;
+		}
+		// Let a stale peak fade so a recovered instance is tried again
+		double elapsed = Math.max(0, nowNanos - stampNanos);
+		double decayed = ewmaNanos * Math.exp(-elapsed / decayNanos);
+		return decayed * (pending + 1);
+	}
+
+	int outstanding() {
+		return outstanding.get();
+	}
+
+}
@@ -0,0 +1,31 @@
+package com.order.repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.order.entity.OrderOutbox;
+
+public interface OrderOutboxRepo extends JpaRepository<OrderOutbox, Long> {
+
+	// Oldest unsent rows, locked until the caller's transaction ends. Rows another relay instance has
+	// already locked are skipped rather than waited on, so instances work on disjoint batches.
+	@Query(value = "SELECT * FROM order_outbox WHERE sent_at IS NULL ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+	List<OrderOutbox> lockUnsent(@Param("limit") int limit);
+
+	@Modifying
+	@Query("UPDATE OrderOutbox o SET o.sentAt = :sentAt WHERE o.id IN :ids")
+	int markSent(@Param("ids") List<Long> ids, @Param("sentAt") Instant sentAt);
+
+	@Modifying
+	@Query("DELETE FROM OrderOutbox o WHERE o.sentAt < :before")
+	int deleteSentBefore(@Param("before") Instant before);
+
+	@Query("SELECT MIN(o.createdAt) FROM OrderOutbox o WHERE o.sentAt IS NULL")
+	Optional<Instant> findOldestUnsent();
+}
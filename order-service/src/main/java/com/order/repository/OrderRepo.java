@@ -1,9 +1,17 @@
 package com.order.repository;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.order.entity.Order;
 
 public interface OrderRepo extends JpaRepository<Order, Long> {
 
+	@Query("SELECT o.orderNumber FROM Order o WHERE o.orderNumber IN :orderNumbers")
+	List<String> findOrderNumbersIn(@Param("orderNumbers") Collection<String> orderNumbers);
+
 }
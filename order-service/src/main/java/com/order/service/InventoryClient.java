@@ -0,0 +1,73 @@
+package com.order.service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.order.dto.ReservationRequest;
+import com.order.dto.ReservationResponse;
+
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import io.github.resilience4j.retry.annotation.Retry;
+import io.github.resilience4j.timelimiter.annotation.TimeLimiter;
+
+// Non-blocking calls to inventory-service on the shared client. Every call returns as soon as the
+// request is written; the future completes on a WebClient thread. The resilience4j annotations sit
+// here rather than on OrderServiceImpl so they wrap only the remote call: the time limiter cancels a
+// slow call, and a retry repeats the reservation alone, which inventory-service makes idempotent per
+// order number, instead of placing the whole order again.
+@Component
+public class InventoryClient {
+
+	private final WebClient inventoryWebClient;
+
+	public InventoryClient(@Qualifier("inventoryWebClient") WebClient inventoryWebClient) {
+		this.inventoryWebClient = inventoryWebClient;
+	}
+
+	@CircuitBreaker(name = "inventory")
+	@TimeLimiter(name = "inventory")
+	@Retry(name = "inventory")
+	public CompletableFuture<ReservationResponse> reserve(ReservationRequest reservationRequest) {
+		return inventoryWebClient.post().uri("/api/inventory/reserve").bodyValue(reservationRequest).retrieve()
+				.bodyToMono(ReservationResponse.class).toFuture();
+	}
+
+	// All orders of a bulk placement in one round trip; one response per order, in request order
+	@CircuitBreaker(name = "inventory")
+	@TimeLimiter(name = "inventory")
+	@Retry(name = "inventory")
+	public CompletableFuture<List<ReservationResponse>> reserveAll(List<ReservationRequest> reservationRequests) {
+		return inventoryWebClient.post().uri("/api/inventory/reserve/bulk").bodyValue(reservationRequests).retrieve()
+				.bodyToFlux(ReservationResponse.class).collectList().toFuture();
+	}
+
+	// Commit and release only change reservation state, so repeating them is harmless
+	@Retry(name = "inventory")
+	public CompletableFuture<Void> commit(String orderNumber) {
+		return inventoryWebClient.post().uri("/api/inventory/reservations/{orderNumber}/commit", orderNumber)
+				.retrieve().toBodilessEntity().then().toFuture();
+	}
+
+	@Retry(name = "inventory")
+	public CompletableFuture<Void> release(String orderNumber) {
+		return inventoryWebClient.post().uri("/api/inventory/reservations/{orderNumber}/release", orderNumber)
+				.retrieve().toBodilessEntity().then().toFuture();
+	}
+
+	@Retry(name = "inventory")
+	public CompletableFuture<Void> commitAll(List<String> orderNumbers) {
+		return inventoryWebClient.post().uri("/api/inventory/reservations/commit").bodyValue(orderNumbers).retrieve()
+				.toBodilessEntity().then().toFuture();
+	}
+
+	@Retry(name = "inventory")
+	public CompletableFuture<Void> releaseAll(List<String> orderNumbers) {
+		return inventoryWebClient.post().uri("/api/inventory/reservations/release").bodyValue(orderNumbers).retrieve()
+				.toBodilessEntity().then().toFuture();
+	}
+
+}
@@ -0,0 +1,140 @@
+package com.order.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.order.entity.OrderOutbox;
+import com.order.events.OrderPlacedEvent;
+import com.order.repository.OrderOutboxRepo;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.extern.slf4j.Slf4j;
+
+// Publishes the outbox to Kafka. Each batch is locked, sent without waiting per record, flushed, and
+// marked sent in one update once every record is acknowledged, all in one transaction. If any send
+// fails the transaction rolls back and the whole batch goes again on the next poll, so delivery is
+// at least once: consumers can see an event twice and should dedupe on its eventId.
+@Component
+@Slf4j
+public class OrderOutboxRelay {
+
+	static final String TOPIC = "order-topic";
+
+	private final OrderOutboxRepo outboxRepo;
+	private final KafkaTemplate<String, OrderPlacedEvent> template;
+	private final ObjectMapper objectMapper;
+	private final TransactionTemplate transactionTemplate;
+	private final int batchSize;
+	private final Duration sendTimeout;
+	private final Duration retention;
+
+	private final AtomicLong lagMillis = new AtomicLong();
+	private final DistributionSummary batchSizes;
+	private final Counter sent;
+
+	public OrderOutboxRelay(OrderOutboxRepo outboxRepo, KafkaTemplate<String, OrderPlacedEvent> template,
+			ObjectMapper objectMapper, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+			@Value("${order.outbox.batch-size:500}") int batchSize,
+			@Value("${order.outbox.send-timeout:10s}") Duration sendTimeout,
+			@Value("${order.outbox.retention:1h}") Duration retention) {
+		this.outboxRepo = outboxRepo;
+		this.template = template;
+		this.objectMapper = objectMapper;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.batchSize = Math.max(1, batchSize);
+		this.sendTimeout = sendTimeout;
+		this.retention = retention;
+		TimeGauge.builder("order.outbox.lag", lagMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+				.description("Age of the oldest event not yet published").register(meterRegistry);
+		this.batchSizes = DistributionSummary.builder("order.outbox.batch.size")
+				.description("Events published per relay batch").register(meterRegistry);
+		this.sent = meterRegistry.counter("order.outbox.sent");
+	}
+
+	// Keeps draining while batches come back full, then waits for the next poll
+	@Scheduled(fixedDelayString = "${order.outbox.poll-interval-ms:200}")
+	public void relay() {
+		try {
+			int published;
+			do {
+				published = transactionTemplate.execute(status -> publishBatch());
+			} while (published == batchSize);
+		} catch (RuntimeException e) {
+			log.error("Outbox relay failed, the batch will be retried", e);
+		}
+		lagMillis.set(outboxRepo.findOldestUnsent()
+				.map(oldest -> Math.max(0, Duration.between(oldest, Instant.now()).toMillis())).orElse(0L));
+	}
+
+	@Scheduled(fixedDelayString = "${order.outbox.purge-interval-ms:60000}")
+	public void purge() {
+		Integer purged = transactionTemplate
+				.execute(status -> outboxRepo.deleteSentBefore(Instant.now().minus(retention)));
+		log.debug("Purged {} published outbox rows", purged);
+	}
+
+	int publishBatch() {
+		List<OrderOutbox> batch = outboxRepo.lockUnsent(batchSize);
+		if (batch.isEmpty()) {
+			return 0;
+		}
+
+		List<CompletableFuture<?>> sends = new ArrayList<>(batch.size());
+		for (OrderOutbox row : batch) {
+			OrderPlacedEvent event = read(row);
+			if (event != null) {
+				sends.add(template.send(TOPIC, row.getOrderNumber(), event));
+			}
+		}
+		// Hands the batch to the broker now instead of after linger.ms
+		template.flush();
+		awaitAcks(sends);
+
+		outboxRepo.markSent(batch.stream().map(OrderOutbox::getId).toList(), Instant.now());
+		batchSizes.record(batch.size());
+		sent.increment(sends.size());
+		return batch.size();
+	}
+
+	// An unreadable row can never be published; it is logged and marked sent so it cannot block the outbox
+	private OrderPlacedEvent read(OrderOutbox row) {
+		try {
+			return objectMapper.readValue(row.getPayload(), OrderPlacedEvent.class);
+		} catch (JsonProcessingException e) {
+			log.error("Dropping unreadable outbox row {} for order {}", row.getId(), row.getOrderNumber(), e);
+			return null;
+		}
+	}
+
+	private void awaitAcks(List<CompletableFuture<?>> sends) {
+		try {
+			CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).get(sendTimeout.toMillis(),
+					TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while publishing the outbox", e);
+		} catch (ExecutionException | TimeoutException e) {
+			throw new IllegalStateException("Outbox batch was not acknowledged", e);
+		}
+	}
+
+}
@@ -0,0 +1,43 @@
+package com.order.service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Runs the blocking part of order placement (saving the order and its outbox row) off the request
+// and WebClient threads. The pool is sized to the connection pool, since a thread without a connection
+// would only wait for one, and the queue is bounded: once it is full, submissions fail at once with
+// RejectedExecutionException instead of piling up orders that already hold reserved stock.
+public class OrderPersistenceExecutor extends ThreadPoolExecutor {
+
+	private final AtomicLong rejected = new AtomicLong();
+
+	public OrderPersistenceExecutor(int threads, int queueCapacity) {
+		super(threads, threads, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+				new NamedThreadFactory());
+		setRejectedExecutionHandler((task, executor) -> {
+			rejected.incrementAndGet();
+			throw new RejectedExecutionException("Order persistence queue is full");
+		});
+	}
+
+	public long getRejectedCount() {
+		return rejected.get();
+	}
+
+	private static class NamedThreadFactory implements ThreadFactory {
+		private final AtomicInteger count = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable task) {
+			Thread thread = new Thread(task, "order-persistence-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+
+}
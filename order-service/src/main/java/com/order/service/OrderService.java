@@ -3,11 +3,16 @@ package com.order.service;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
+import com.order.dto.BulkOrderResponse;
 import com.order.dto.OrderRequest;
 import com.order.dto.OrderResponse;
 
 public interface OrderService {
 	public CompletableFuture<String> placeOrder(OrderRequest orderRequest);
 
+	public CompletableFuture<BulkOrderResponse> placeOrders(List<OrderRequest> orderRequests);
+
 	public List<OrderResponse> getAllOrders();
+
+	public List<String> findPlacedOrderNumbers(List<String> orderNumbers);
 }
@@ -1,35 +1,41 @@
 package com.order.service;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.order.dto.*;
 import com.order.entity.Order;
 import com.order.entity.OrderLineItems;
+import com.order.entity.OrderOutbox;
 import com.order.events.OrderPlacedEvent;
+import com.order.repository.OrderOutboxRepo;
 import com.order.repository.OrderRepo;
 
-import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
-import io.github.resilience4j.retry.annotation.Retry;
-import io.github.resilience4j.timelimiter.annotation.TimeLimiter;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Service
-@Transactional
 public class OrderServiceImpl implements OrderService {
 
 	@Autowired
@@ -39,36 +45,39 @@ public class OrderServiceImpl implements OrderService {
 	private OrderRepo orderRepo;
 
 	@Autowired
-	private WebClient.Builder webClientBuilder;
+	private InventoryClient inventoryClient;
 
 	@Autowired
-	private KafkaTemplate<String, OrderPlacedEvent> template;
+	private OrderPersistenceExecutor persistenceExecutor;
 
+	@Autowired
+	private OrderOutboxRepo outboxRepo;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	// Returns as soon as the reservation request is sent. Validation runs on the WebClient thread that
+	// receives the reservation, the save on the persistence pool, and no thread waits on a round trip,
+	// so the number of orders in flight is bounded by the client and pool limits rather than threads.
 	@Override
-	@CircuitBreaker(name = "inventory", fallbackMethod = "fallBackMethod")
-	@TimeLimiter(name = "inventory", fallbackMethod = "fallbackMethodForTimeOut")
-	@Retry(name = "inventory", fallbackMethod = "fallBackMethodRetry")
 	public CompletableFuture<String> placeOrder(OrderRequest orderRequest) {
 		log.info("Received order request: {}", orderRequest);
-		try {
-			// Create order with UUID and map line items
-			Order order = createOrderFromRequest(orderRequest);
-			log.debug("Created order with number: {}", order.getOrderNumber());
 
-			// Get unique SKU codes and check inventory
-			List<String> skuCodes = extractSkuCodes(order.getOrderLineItems());
-			List<InventoryResponse> inventoryResponses = checkInventory(skuCodes);
+		// Create order with UUID and map line items
+		Order order = createOrderFromRequest(orderRequest);
+		log.debug("Created order with number: {}", order.getOrderNumber());
 
-			// Validate inventory
-			InventoryValidationResult validationResult = validateOrderAgainstInventory(order.getOrderLineItems(),
-					inventoryResponses);
-
-			// Process order based on validation result
-			return processOrderBasedOnValidation(order, validationResult);
-		} catch (Exception e) {
-			log.error("Error processing order request", e);
-			throw e;
-		}
+		// Reserve the stock up front so a concurrent order cannot take the same units
+		return inventoryClient.reserve(reservationRequest(order)).handle((reservation, failure) -> {
+			if (failure != null) {
+				releaseInventory(order.getOrderNumber());
+				return CompletableFuture.completedFuture(inventoryUnavailable(unwrap(failure)));
+			}
+			return placeReservedOrder(order, reservation);
+		}).thenCompose(Function.identity());
 	}
 
 	private Order createOrderFromRequest(OrderRequest orderRequest) {
@@ -85,29 +94,59 @@ public class OrderServiceImpl implements OrderService {
 		}
 	}
 
-	private List<String> extractSkuCodes(List<OrderLineItems> orderLineItems) {
-		return orderLineItems.stream().map(OrderLineItems::getSkuCode).distinct().collect(Collectors.toList());
+	private ReservationRequest reservationRequest(Order order) {
+		List<ReservationLineDto> items = order.getOrderLineItems().stream()
+				.map(item -> new ReservationLineDto(item.getSkuCode(), item.getQuantity())).collect(Collectors.toList());
+		log.debug("Reserving inventory for order {}: {}", order.getOrderNumber(), items);
+		return new ReservationRequest(order.getOrderNumber(), items);
 	}
 
-	private List<InventoryResponse> checkInventory(List<String> skuCodes) {
-		log.debug("Checking inventory for SKU codes: {}", skuCodes);
-		try {
-			List<InventoryResponse> responses = webClientBuilder.build().get()
-					.uri("http://inventory-service/api/inventory/checkstock",
-							uriBuilder -> uriBuilder.queryParam("skuCode", skuCodes).build())
-					.retrieve().bodyToMono(new ParameterizedTypeReference<List<InventoryResponse>>() {
-					}).block();
-
-			if (responses == null || responses.isEmpty()) {
-				throw new IllegalStateException("No inventory data available");
+	// Takes the place of the old annotation fallbacks. A reservation that timed out may still have
+	// gone through, so callers release it either way.
+	private String inventoryUnavailable(Throwable failure) {
+		if (failure instanceof TimeoutException) {
+			log.error("Timeout fallback triggered", failure);
+			return "Fallback response due to timeout";
+		}
+		if (failure instanceof CallNotPermittedException) {
+			log.error("Circuit breaker fallback triggered", failure);
+		} else {
+			log.error("Retry fallback triggered", failure);
+		}
+		return "OOPS Something went wrong....Please try later!!";
+	}
+
+	// Best effort: whatever is not released here is put back by the inventory-service sweeper. Only called
+	// for orders that were not saved; a saved order's reservation is never released.
+	private void releaseInventory(String orderNumber) {
+		inventoryClient.release(orderNumber).whenComplete((ignored, failure) -> {
+			if (failure != null) {
+				log.error("Error releasing inventory for order {}", orderNumber, failure);
 			}
+		});
+	}
 
-			log.debug("Received inventory responses: {}", responses);
-			return responses;
-		} catch (Exception e) {
-			log.error("Error checking inventory", e);
-			throw new IllegalStateException("Failed to check inventory", e);
+	// A lost commit leaves the reservation held; the inventory-service sweeper finds the saved order and
+	// commits it then, so the stock is never released
+	private CompletableFuture<Order> commitInventory(Order savedOrder) {
+		return inventoryClient.commit(savedOrder.getOrderNumber()).handle((ignored, failure) -> {
+			if (failure != null) {
+				log.error("Order {} is saved but its reservation could not be committed yet", savedOrder.getOrderNumber(),
+						failure);
+			}
+			return savedOrder;
+		});
+	}
+
+	private void releaseInventory(List<String> orderNumbers) {
+		if (orderNumbers.isEmpty()) {
+			return;
 		}
+		inventoryClient.releaseAll(orderNumbers).whenComplete((ignored, failure) -> {
+			if (failure != null) {
+				log.error("Error releasing inventory for {} orders", orderNumbers.size(), failure);
+			}
+		});
 	}
 
 	private static class InventoryValidationResult {
@@ -115,95 +154,109 @@ public class OrderServiceImpl implements OrderService {
 		final List<OrderLineItems> inStockSkus = new ArrayList<>();
 	}
 
-	private InventoryValidationResult validateOrderAgainstInventory(List<OrderLineItems> orderLineItems,
-			List<InventoryResponse> inventoryResponses) {
-		log.debug("Validating order against inventory");
+	private InventoryValidationResult validateOrderAgainstReservation(List<OrderLineItems> orderLineItems,
+			ReservationResponse reservation) {
+		log.debug("Validating order against reservation");
+		if (reservation == null || reservation.getResults() == null || reservation.getResults().isEmpty()) {
+			throw new IllegalStateException("No inventory data available");
+		}
 
 		InventoryValidationResult result = new InventoryValidationResult();
-		Map<String, Integer> inventoryMap = inventoryResponses.stream()
-				.collect(Collectors.toMap(InventoryResponse::getSkuCode, InventoryResponse::getQuantity));
+		Map<String, SkuReservationResult> reservationMap = reservation.getResults().stream()
+				.collect(Collectors.toMap(SkuReservationResult::getSkuCode, sku -> sku));
 
 		for (OrderLineItems item : orderLineItems) {
 			String skuCode = item.getSkuCode();
-			int requestedQuantity = item.getQuantity();
 
-			Integer availableQuantity = inventoryMap.get(skuCode);
-			if (availableQuantity == null) {
+			SkuReservationResult reserved = reservationMap.get(skuCode);
+			if (reserved == null || reserved.getStatus() == SkuReservationResult.Status.NOT_FOUND) {
 				log.error("SKU Code not found in inventory: {}", skuCode);
 				throw new IllegalArgumentException("SKU Code not found in inventory: " + skuCode);
 			}
 
-			if (availableQuantity == 0) {
+			if (reserved.getStatus() == SkuReservationResult.Status.RESERVED) {
+				result.inStockSkus.add(item);
+			} else if (reserved.getAvailable() == 0) {
 				log.info("SKU Code {} is out of stock", skuCode);
 				result.outOfStockSkus.add(skuCode);
-			} else if (requestedQuantity > availableQuantity) {
+			} else {
 				log.error("Insufficient inventory for SKU Code: {}", skuCode);
 				throw new IllegalStateException(String.format(
 						"Inventory quantity for SKU Code %s is %d. Please request quantity less than or equal to inventory.",
-						skuCode, availableQuantity));
-			} else {
-				result.inStockSkus.add(item);
+						skuCode, reserved.getAvailable()));
 			}
 		}
 		return result;
 	}
 
+	// Anything already reserved is handed back if the order is rejected
+	private CompletableFuture<String> placeReservedOrder(Order order, ReservationResponse reservation) {
+		try {
+			return processOrderBasedOnValidation(order,
+					validateOrderAgainstReservation(order.getOrderLineItems(), reservation));
+		} catch (RuntimeException e) {
+			releaseInventory(order.getOrderNumber());
+			throw e;
+		}
+	}
+
 	private CompletableFuture<String> processOrderBasedOnValidation(Order order,
 			InventoryValidationResult validationResult) {
 		log.info("Processing order based on validation results");
 
-		// Use synchronized block to prevent concurrent modifications
-		synchronized (this) {
-			try {
-				if (!validationResult.outOfStockSkus.isEmpty()) {
-					if (validationResult.outOfStockSkus.size() == order.getOrderLineItems().size()) {
-						log.info("All items out of stock for order {}", order.getOrderNumber());
-						return CompletableFuture.completedFuture(
-								"All items out of stock for SKU Codes: " + validationResult.outOfStockSkus);
-					}
-
-					order.setOrderLineItems(validationResult.inStockSkus);
-					Order savedOrder = orderRepo.save(order);
-					sendNotification(savedOrder);
-					log.info("Partial order placed for order number: {}", savedOrder.getOrderNumber());
-					return CompletableFuture.completedFuture(
-							"Partial order placed. Out of stock items: " + validationResult.outOfStockSkus);
-				}
+		if (validationResult.inStockSkus.isEmpty()) {
+			log.info("All items out of stock for order {}", order.getOrderNumber());
+			releaseInventory(order.getOrderNumber());
+			return CompletableFuture
+					.completedFuture("All items out of stock for SKU Codes: " + validationResult.outOfStockSkus);
+		}
 
-				if (validationResult.inStockSkus.size() == order.getOrderLineItems().size()) {
-					order.setOrderLineItems(validationResult.inStockSkus);
-					Order savedOrder = orderRepo.save(order);
-					sendNotification(savedOrder);
-					log.info("Order successfully placed with order number: {}", savedOrder.getOrderNumber());
-					return CompletableFuture.completedFuture("Hurray Order placed!");
-				}
+		boolean partial = !validationResult.outOfStockSkus.isEmpty();
+		order.setOrderLineItems(validationResult.inStockSkus);
+		CompletableFuture<Order> saved;
+		try {
+			saved = CompletableFuture.supplyAsync(() -> saveWithOutbox(order), persistenceExecutor);
+		} catch (RejectedExecutionException e) {
+			log.error("Order {} rejected, persistence queue is full", order.getOrderNumber());
+			releaseInventory(order.getOrderNumber());
+			throw e;
+		}
 
-				log.error("Unexpected validation result for order {}", order.getOrderNumber());
-				return CompletableFuture.completedFuture("OOps something went wrong...!");
-			} catch (Exception e) {
-				log.error("Error processing order {}", order.getOrderNumber(), e);
-				throw e;
+		return saved.whenComplete((savedOrder, failure) -> {
+			if (failure != null) {
+				log.error("Error processing order {}", order.getOrderNumber(), unwrap(failure));
+				releaseInventory(order.getOrderNumber());
 			}
-		}
+		}).thenCompose(this::commitInventory).thenApply(savedOrder -> {
+			if (partial) {
+				log.info("Partial order placed for order number: {}", savedOrder.getOrderNumber());
+				return "Partial order placed. Out of stock items: " + validationResult.outOfStockSkus;
+			}
+			log.info("Order successfully placed with order number: {}", savedOrder.getOrderNumber());
+			return "Hurray Order placed!";
+		});
 	}
 
-	private void sendNotification(Order order) {
+	// Runs on the persistence pool. The order and its OrderPlacedEvent are written in one transaction,
+	// and OrderOutboxRelay publishes the event later. No lock is needed: the reservation already holds
+	// the stock, and the insert touches no row another order writes.
+	private Order saveWithOutbox(Order order) {
+		return transactionTemplate.execute(status -> {
+			Order savedOrder = orderRepo.save(order);
+			outboxRepo.save(outboxOf(savedOrder));
+			return savedOrder;
+		});
+	}
+
+	private static Throwable unwrap(Throwable failure) {
+		return failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+	}
+
+	private String toJson(OrderPlacedEvent event) {
 		try {
-			OrderPlacedEvent orderPlacedEvent = createOrderPlacedEvent(order);
-			CompletableFuture<SendResult<String, OrderPlacedEvent>> message = template.send("order-topic",
-					orderPlacedEvent);
-
-			message.whenComplete((result, ex) -> {
-				if (ex == null) {
-					log.info("Sent notification for order: {}. Offset: {}", order.getOrderNumber(),
-							result.getRecordMetadata().offset());
-				} else {
-					log.error("Failed to send notification for order: {}", order.getOrderNumber(), ex);
-				}
-			});
-		} catch (Exception e) {
-			log.error("Error sending notification for order: {}");
-			throw new IllegalStateException("Failed to send order notification", e);
+			return objectMapper.writeValueAsString(event);
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("Failed to serialize order event", e);
 		}
 	}
 
@@ -218,23 +271,175 @@ public class OrderServiceImpl implements OrderService {
 		return event;
 	}
 
-	// Fallback methods remain unchanged
-	public String fallBackMethod(OrderRequest orderRequest, Exception t) {
-		log.error("Circuit breaker fallback triggered", t);
-		return "OOPS Something went wrong....Please try later!!";
+	// One inventory round trip for every order in the request, then all accepted orders and their events
+	// saved in one transaction as JDBC batches. Each order is validated on its own, with the same rules
+	// and messages as placeOrder, so a rejected order only fails itself.
+	@Override
+	public CompletableFuture<BulkOrderResponse> placeOrders(List<OrderRequest> orderRequests) {
+		log.info("Received bulk order request with {} orders", orderRequests.size());
+		BulkOrderResult[] results = new BulkOrderResult[orderRequests.size()];
+		List<Order> orders = new ArrayList<>(orderRequests.size());
+		for (int i = 0; i < orderRequests.size(); i++) {
+			try {
+				orders.add(createOrderFromRequest(orderRequests.get(i)));
+			} catch (RuntimeException e) {
+				results[i] = bulkResult(i, null, BulkOrderResult.Status.REJECTED, e.getMessage());
+				orders.add(null);
+			}
+		}
+
+		List<ReservationRequest> reservationRequests = orders.stream().filter(Objects::nonNull)
+				.map(this::reservationRequest).collect(Collectors.toList());
+		if (reservationRequests.isEmpty()) {
+			return CompletableFuture.completedFuture(bulkResponse(results));
+		}
+
+		return inventoryClient.reserveAll(reservationRequests).handle((reservations, failure) -> {
+			if (failure != null) {
+				releaseInventory(orderNumbers(reservationRequests));
+				String message = inventoryUnavailable(unwrap(failure));
+				fillPending(results, BulkOrderResult.Status.FAILED, message);
+				return CompletableFuture.completedFuture(bulkResponse(results));
+			}
+			return placeReservedOrders(orders, reservations, results);
+		}).thenCompose(Function.identity());
 	}
 
-	public CompletableFuture<String> fallbackMethodForTimeOut(OrderRequest orderRequest, Exception t) {
-		log.error("Timeout fallback triggered", t);
-		return CompletableFuture.supplyAsync(() -> "Fallback response due to timeout");
+	private CompletableFuture<BulkOrderResponse> placeReservedOrders(List<Order> orders,
+			List<ReservationResponse> reservations, BulkOrderResult[] results) {
+		Map<String, ReservationResponse> reservationMap = reservations.stream()
+				.collect(Collectors.toMap(ReservationResponse::getOrderNumber, reservation -> reservation,
+						(first, repeated) -> first));
+
+		List<Integer> accepted = new ArrayList<>();
+		List<String> rejected = new ArrayList<>();
+		for (int i = 0; i < orders.size(); i++) {
+			Order order = orders.get(i);
+			if (order == null) {
+				continue;
+			}
+			try {
+				InventoryValidationResult validationResult = validateOrderAgainstReservation(
+						order.getOrderLineItems(), reservationMap.get(order.getOrderNumber()));
+				if (validationResult.inStockSkus.isEmpty()) {
+					results[i] = bulkResult(i, null, BulkOrderResult.Status.OUT_OF_STOCK,
+							"All items out of stock for SKU Codes: " + validationResult.outOfStockSkus);
+					rejected.add(order.getOrderNumber());
+				} else {
+					order.setOrderLineItems(validationResult.inStockSkus);
+					accepted.add(i);
+					results[i] = validationResult.outOfStockSkus.isEmpty()
+							? bulkResult(i, order.getOrderNumber(), BulkOrderResult.Status.PLACED,
+									"Hurray Order placed!")
+							: bulkResult(i, order.getOrderNumber(), BulkOrderResult.Status.PARTIAL,
+									"Partial order placed. Out of stock items: " + validationResult.outOfStockSkus);
+				}
+			} catch (RuntimeException e) {
+				results[i] = bulkResult(i, null, BulkOrderResult.Status.REJECTED, e.getMessage());
+				rejected.add(order.getOrderNumber());
+			}
+		}
+		releaseInventory(rejected);
+		if (accepted.isEmpty()) {
+			return CompletableFuture.completedFuture(bulkResponse(results));
+		}
+
+		List<Order> toSave = accepted.stream().map(orders::get).collect(Collectors.toList());
+		CompletableFuture<Set<String>> unsaved;
+		try {
+			unsaved = CompletableFuture.supplyAsync(() -> saveAllWithOutbox(toSave), persistenceExecutor);
+		} catch (RejectedExecutionException e) {
+			unsaved = CompletableFuture.failedFuture(e);
+		}
+
+		return unsaved.handle((failed, failure) -> {
+			if (failure != null) {
+				log.error("Error saving bulk orders", unwrap(failure));
+				failed = toSave.stream().map(Order::getOrderNumber).collect(Collectors.toSet());
+			}
+			List<String> saved = new ArrayList<>();
+			for (int i : accepted) {
+				String orderNumber = orders.get(i).getOrderNumber();
+				if (failed.contains(orderNumber)) {
+					results[i] = bulkResult(i, null, BulkOrderResult.Status.FAILED, "Failed to save order");
+				} else {
+					saved.add(orderNumber);
+				}
+			}
+			releaseInventory(new ArrayList<>(failed));
+			return saved;
+		}).thenCompose(saved -> saved.isEmpty() ? CompletableFuture.<Void>completedFuture(null)
+				: inventoryClient.commitAll(saved).exceptionally(failure -> {
+					log.error("{} bulk orders are saved but their reservations could not be committed", saved.size(),
+							failure);
+					return null;
+				})).thenApply(ignored -> bulkResponse(results));
 	}
 
-	public String fallBackMethodRetry(OrderRequest orderRequest, Exception t) {
-		log.error("Retry fallback triggered", t);
-		return "OOPS Something went wrong....Please try later!!";
+	// Runs on the persistence pool. All orders, their line items and their outbox rows go in one
+	// transaction, which Hibernate sends as a few JDBC batches. If that fails, each order is retried in
+	// its own transaction so one bad order cannot fail the rest. Returns the orders that were not saved.
+	private Set<String> saveAllWithOutbox(List<Order> orders) {
+		try {
+			transactionTemplate.executeWithoutResult(status -> {
+				orderRepo.saveAll(orders);
+				outboxRepo.saveAll(orders.stream().map(this::outboxOf).collect(Collectors.toList()));
+			});
+			return Set.of();
+		} catch (RuntimeException e) {
+			log.warn("Bulk insert of {} orders failed, saving them one by one", orders.size(), e);
+		}
+
+		Set<String> failed = new HashSet<>();
+		for (Order order : orders) {
+			// The rolled back ids were never written; new ones come from the sequence
+			order.setId(null);
+			order.getOrderLineItems().forEach(item -> item.setId(null));
+			try {
+				transactionTemplate.executeWithoutResult(status -> {
+					orderRepo.save(order);
+					outboxRepo.save(outboxOf(order));
+				});
+			} catch (RuntimeException e) {
+				log.error("Error saving order {}", order.getOrderNumber(), e);
+				failed.add(order.getOrderNumber());
+			}
+		}
+		return failed;
+	}
+
+	private OrderOutbox outboxOf(Order savedOrder) {
+		return OrderOutbox.builder().orderNumber(savedOrder.getOrderNumber())
+				.payload(toJson(createOrderPlacedEvent(savedOrder))).build();
+	}
+
+	private static List<String> orderNumbers(List<ReservationRequest> reservationRequests) {
+		return reservationRequests.stream().map(ReservationRequest::getOrderNumber).collect(Collectors.toList());
+	}
+
+	private static void fillPending(BulkOrderResult[] results, BulkOrderResult.Status status, String message) {
+		for (int i = 0; i < results.length; i++) {
+			if (results[i] == null) {
+				results[i] = bulkResult(i, null, status, message);
+			}
+		}
+	}
+
+	private static BulkOrderResult bulkResult(int index, String orderNumber, BulkOrderResult.Status status,
+			String message) {
+		return BulkOrderResult.builder().index(index).orderNumber(orderNumber).status(status).message(message)
+				.build();
+	}
+
+	private static BulkOrderResponse bulkResponse(BulkOrderResult[] results) {
+		List<BulkOrderResult> list = Arrays.asList(results);
+		int placed = (int) list.stream().filter(result -> result.getStatus() == BulkOrderResult.Status.PLACED
+				|| result.getStatus() == BulkOrderResult.Status.PARTIAL).count();
+		return BulkOrderResponse.builder().placed(placed).notPlaced(list.size() - placed).results(list).build();
 	}
 
 	@Override
+	@Transactional(readOnly = true)
 	public List<OrderResponse> getAllOrders() {
 		log.debug("Retrieving all orders");
 		try {
@@ -246,6 +451,16 @@ public class OrderServiceImpl implements OrderService {
 		}
 	}
 
+	// Lets the inventory-service sweeper tell a saved order whose commit was lost from an abandoned one
+	@Override
+	@Transactional(readOnly = true)
+	public List<String> findPlacedOrderNumbers(List<String> orderNumbers) {
+		if (orderNumbers.isEmpty()) {
+			return List.of();
+		}
+		return orderRepo.findOrderNumbersIn(orderNumbers);
+	}
+
 	private OrderResponse convertToDTO(Order order) {
 		try {
 			OrderResponse orderResponse = modelMapper.map(order, OrderResponse.class);
@@ -0,0 +1,152 @@
+package com.order.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.order.dto.BulkOrderResponse;
+import com.order.dto.BulkOrderResult;
+import com.order.dto.OrderLineItemsDto;
+import com.order.dto.OrderRequest;
+import com.order.dto.ReservationRequest;
+import com.order.dto.ReservationResponse;
+import com.order.dto.SkuReservationResult;
+import com.order.repository.OrderOutboxRepo;
+import com.order.repository.OrderRepo;
+
+// Each order of a bulk request gets its own outcome, and every placed order is saved with its event
+@DataJpaTest(properties = { "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+		"spring.sql.init.mode=never", "spring.jpa.show-sql=false",
+		"spring.jpa.properties.hibernate.jdbc.batch_size=50", "spring.jpa.properties.hibernate.order_inserts=true" })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ OrderServiceImpl.class, BulkOrderPlacementTests.Config.class })
+class BulkOrderPlacementTests {
+
+	@Autowired
+	private OrderService orderService;
+
+	@Autowired
+	private OrderRepo orderRepo;
+
+	@Autowired
+	private OrderOutboxRepo outboxRepo;
+
+	@AfterEach
+	void tearDown() {
+		outboxRepo.deleteAllInBatch();
+		orderRepo.deleteAll();
+	}
+
+	@Test
+	void eachOrderIsValidatedOnItsOwn() throws Exception {
+		List<OrderRequest> orders = List.of(order("sku-1", "sku-2"), order("sku-1", "missing"), order("sold-out"),
+				order("sku-3", "sold-out"));
+
+		BulkOrderResponse response = orderService.placeOrders(orders).get();
+
+		assertThat(response.getResults()).extracting(BulkOrderResult::getStatus).containsExactly(
+				BulkOrderResult.Status.PLACED, BulkOrderResult.Status.REJECTED, BulkOrderResult.Status.OUT_OF_STOCK,
+				BulkOrderResult.Status.PARTIAL);
+		assertThat(response.getResults().get(1).getMessage()).isEqualTo("SKU Code not found in inventory: missing");
+		assertThat(response.getPlaced()).isEqualTo(2);
+		assertThat(response.getNotPlaced()).isEqualTo(2);
+		assertThat(orderRepo.count()).isEqualTo(2);
+		assertThat(outboxRepo.count()).isEqualTo(2);
+	}
+
+	@Test
+	void bulkRequestSavesEveryOrderAndItsEvent() throws Exception {
+		int count = 200;
+		List<OrderRequest> orders = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			orders.add(order("sku-" + i % 100, "sku-" + (i + 1) % 100, "sku-" + (i + 2) % 100));
+		}
+
+		BulkOrderResponse response = orderService.placeOrders(orders).get();
+
+		assertThat(response.getPlaced()).isEqualTo(count);
+		assertThat(response.getResults()).extracting(BulkOrderResult::getOrderNumber).doesNotContainNull()
+				.doesNotHaveDuplicates();
+		assertThat(orderRepo.count()).isEqualTo(count);
+		assertThat(outboxRepo.count()).isEqualTo(count);
+	}
+
+	private static OrderRequest order(String... skuCodes) {
+		List<OrderLineItemsDto> items = new ArrayList<>();
+		for (String skuCode : skuCodes) {
+			items.add(new OrderLineItemsDto(skuCode, BigDecimal.TEN, 1));
+		}
+		return new OrderRequest(items);
+	}
+
+	// "missing" is not stocked and "sold-out" has none left; everything else is reserved
+	private static ReservationResponse reserved(ReservationRequest reservationRequest) {
+		List<SkuReservationResult> results = reservationRequest.getItems().stream().map(line -> {
+			SkuReservationResult.Status status = switch (line.getSkuCode()) {
+			case "missing" -> SkuReservationResult.Status.NOT_FOUND;
+			case "sold-out" -> SkuReservationResult.Status.INSUFFICIENT_STOCK;
+			default -> SkuReservationResult.Status.RESERVED;
+			};
+			return SkuReservationResult.builder().skuCode(line.getSkuCode()).requested(line.getQuantity())
+					.status(status).available(status == SkuReservationResult.Status.RESERVED ? 100 : 0).build();
+		}).collect(Collectors.toList());
+		return new ReservationResponse(reservationRequest.getOrderNumber(), results);
+	}
+
+	@TestConfiguration
+	static class Config {
+
+		@Bean
+		ModelMapper modelMapper() {
+			return new ModelMapper();
+		}
+
+		@Bean
+		ObjectMapper objectMapper() {
+			return new ObjectMapper().findAndRegisterModules();
+		}
+
+		@Bean
+		OrderPersistenceExecutor orderPersistenceExecutor() {
+			return new OrderPersistenceExecutor(4, 10_000);
+		}
+
+		@Bean
+		@SuppressWarnings("unchecked")
+		InventoryClient inventoryClient() {
+			InventoryClient inventoryClient = mock(InventoryClient.class);
+			when(inventoryClient.reserve(any(ReservationRequest.class))).thenAnswer(
+					invocation -> CompletableFuture.completedFuture(reserved(invocation.getArgument(0))));
+			when(inventoryClient.reserveAll(anyList())).thenAnswer(invocation -> CompletableFuture.completedFuture(
+					((List<ReservationRequest>) invocation.getArgument(0)).stream()
+							.map(BulkOrderPlacementTests::reserved).collect(Collectors.toList())));
+			when(inventoryClient.commit(anyString())).thenReturn(CompletableFuture.completedFuture(null));
+			when(inventoryClient.release(anyString())).thenReturn(CompletableFuture.completedFuture(null));
+			when(inventoryClient.commitAll(anyList())).thenReturn(CompletableFuture.completedFuture(null));
+			when(inventoryClient.releaseAll(anyList())).thenReturn(CompletableFuture.completedFuture(null));
+			return inventoryClient;
+		}
+	}
+
+}
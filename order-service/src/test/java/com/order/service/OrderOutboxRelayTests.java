@@ -0,0 +1,120 @@
+package com.order.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.order.entity.OrderOutbox;
+import com.order.events.OrderPlacedEvent;
+import com.order.repository.OrderOutboxRepo;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// The relay against a mocked outbox table and producer: a batch is marked sent in one update only
+// after every record is acknowledged, and a failed send leaves the whole batch for the next poll.
+class OrderOutboxRelayTests {
+
+	private static final int BATCH_SIZE = 50;
+
+	private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+	private OrderOutboxRepo outboxRepo;
+	private KafkaTemplate<String, OrderPlacedEvent> template;
+	private SimpleMeterRegistry meterRegistry;
+	private OrderOutboxRelay relay;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		outboxRepo = mock(OrderOutboxRepo.class);
+		template = mock(KafkaTemplate.class);
+		meterRegistry = new SimpleMeterRegistry();
+		relay = new OrderOutboxRelay(outboxRepo, template, objectMapper, mock(PlatformTransactionManager.class),
+				meterRegistry, BATCH_SIZE, Duration.ofSeconds(1), Duration.ofHours(1));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void batchIsPublishedAndMarkedSentInOneUpdate() throws Exception {
+		when(outboxRepo.lockUnsent(BATCH_SIZE)).thenReturn(rows(1, 20));
+		when(template.send(eq(OrderOutboxRelay.TOPIC), any(String.class), any(OrderPlacedEvent.class)))
+				.thenReturn(CompletableFuture.completedFuture(null));
+
+		assertThat(relay.publishBatch()).isEqualTo(20);
+
+		verify(template, times(20)).send(eq(OrderOutboxRelay.TOPIC), any(String.class), any(OrderPlacedEvent.class));
+		verify(template).flush();
+		ArgumentCaptor<List<Long>> ids = ArgumentCaptor.forClass(List.class);
+		verify(outboxRepo).markSent(ids.capture(), any(Instant.class));
+		assertThat(ids.getValue()).containsExactlyElementsOf(LongStream.rangeClosed(1, 20).boxed().toList());
+		assertThat(meterRegistry.summary("order.outbox.batch.size").totalAmount()).isEqualTo(20);
+	}
+
+	@Test
+	void failedSendLeavesTheBatchUnsent() throws Exception {
+		CompletableFuture<SendResult<String, OrderPlacedEvent>> failed = new CompletableFuture<>();
+		failed.completeExceptionally(new IllegalStateException("broker unavailable"));
+		when(outboxRepo.lockUnsent(BATCH_SIZE)).thenReturn(rows(1, 3));
+		when(template.send(eq(OrderOutboxRelay.TOPIC), any(String.class), any(OrderPlacedEvent.class)))
+				.thenReturn(CompletableFuture.completedFuture(null), failed, CompletableFuture.completedFuture(null));
+
+		assertThatThrownBy(relay::publishBatch).isInstanceOf(IllegalStateException.class);
+
+		verify(outboxRepo, never()).markSent(anyList(), any(Instant.class));
+	}
+
+	@Test
+	void relayDrainsFullBatchesAndReportsLag() throws Exception {
+		when(outboxRepo.lockUnsent(anyInt())).thenReturn(rows(1, BATCH_SIZE), rows(BATCH_SIZE + 1, 2 * BATCH_SIZE),
+				rows(2 * BATCH_SIZE + 1, 2 * BATCH_SIZE + 7), List.of());
+		when(template.send(eq(OrderOutboxRelay.TOPIC), any(String.class), any(OrderPlacedEvent.class)))
+				.thenReturn(CompletableFuture.completedFuture(null));
+		when(outboxRepo.findOldestUnsent()).thenReturn(Optional.of(Instant.now().minusSeconds(3)));
+
+		relay.relay();
+
+		verify(outboxRepo, times(3)).lockUnsent(BATCH_SIZE);
+		assertThat(meterRegistry.counter("order.outbox.sent").count()).isEqualTo(2 * BATCH_SIZE + 7);
+		assertThat(meterRegistry.get("order.outbox.lag").timeGauge().value(TimeUnit.SECONDS))
+				.isGreaterThanOrEqualTo(3);
+	}
+
+	private List<OrderOutbox> rows(long fromId, long toId) throws Exception {
+		List<OrderOutbox> rows = new ArrayList<>();
+		for (long id = fromId; id <= toId; id++) {
+			OrderPlacedEvent event = new OrderPlacedEvent();
+			event.setOrderId(id);
+			event.setOrderNumber("order-" + id);
+			event.setEventId("event-" + id);
+			rows.add(OrderOutbox.builder().id(id).orderNumber(event.getOrderNumber())
+					.payload(objectMapper.writeValueAsString(event)).build());
+		}
+		return rows;
+	}
+
+}
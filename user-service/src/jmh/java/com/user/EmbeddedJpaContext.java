@@ -0,0 +1,41 @@
+package com.user;
+
+import org.springframework.boot.Banner;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+// The JPA slice @DataJpaTest uses, on an in-memory H2 database, for benchmarks that need real inserts
+// and updates. The arguments override the MySQL settings in application.properties.
+public final class EmbeddedJpaContext {
+
+	private EmbeddedJpaContext() {
+	}
+
+	public static ConfigurableApplicationContext start(Class<?>... components) {
+		return new SpringApplicationBuilder(Slice.class).sources(components).web(WebApplicationType.NONE)
+				.bannerMode(Banner.Mode.OFF)
+				.run("--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+						"--spring.datasource.driver-class-name=org.h2.Driver", "--spring.datasource.username=sa",
+						"--spring.datasource.password=", "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+						"--spring.jpa.hibernate.ddl-auto=create-drop", "--spring.jpa.show-sql=false",
+						"--spring.sql.init.mode=never", "--logging.level.root=WARN");
+	}
+
+	@SpringBootConfiguration
+	@ImportAutoConfiguration({ DataSourceAutoConfiguration.class, DataSourceTransactionManagerAutoConfiguration.class,
+			HibernateJpaAutoConfiguration.class, TransactionAutoConfiguration.class })
+	@EntityScan(basePackageClasses = UserServiceApplication.class)
+	@EnableJpaRepositories(basePackageClasses = UserServiceApplication.class)
+	static class Slice {
+	}
+
+}
@@ -0,0 +1,104 @@
+package com.user.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import com.user.EmbeddedJpaContext;
+import com.user.dto.BulkRegisterResponseDTO;
+import com.user.dto.UserRegisterDTO;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// One bulk registration request; the users param sets how many new accounts it carries
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BulkRegistrationBenchmark {
+
+	@Param({ "1000" })
+	public int users;
+
+	private ConfigurableApplicationContext context;
+	private BulkRegistrationService bulkRegistrationService;
+	private int registered;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = EmbeddedJpaContext.start(BulkRegistrationService.class, Beans.class);
+		bulkRegistrationService = context.getBean(BulkRegistrationService.class);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public BulkRegisterResponseDTO registerAll() {
+		List<UserRegisterDTO> records = new ArrayList<>(users);
+		for (int i = 0; i < users; i++) {
+			records.add(user(registered++));
+		}
+		return bulkRegistrationService.registerAll(records.iterator());
+	}
+
+	private static UserRegisterDTO user(int i) {
+		return UserRegisterDTO.builder().firstName("Bulk").lastName("User" + i).email("bulk" + i + "@example.com")
+				.password("password123").phoneNumber(String.format("9%09d", i)).role("USER").build();
+	}
+
+	@Configuration
+	static class Beans {
+
+		@Bean
+		ModelMapper modelMapper() {
+			return new ModelMapper();
+		}
+
+		@Bean
+		BCryptPasswordEncoder passwordEncoder() {
+			return new BCryptPasswordEncoder(4);
+		}
+
+		@Bean(destroyMethod = "shutdownNow")
+		PasswordHashingExecutor bulkPasswordHashingExecutor() {
+			return new PasswordHashingExecutor(PasswordHashingExecutor.defaultThreads(), 100);
+		}
+
+		@Bean
+		LocalValidatorFactoryBean validator() {
+			return new LocalValidatorFactoryBean();
+		}
+
+		@Bean
+		MeterRegistry meterRegistry() {
+			return new SimpleMeterRegistry();
+		}
+	}
+
+}
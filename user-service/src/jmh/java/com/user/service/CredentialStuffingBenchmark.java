@@ -0,0 +1,89 @@
+package com.user.service;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.user.repository.LoginAttemptRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// One credential stuffing run with LoginAttemptTracker "off" (every attempt is hashed) and "on"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class CredentialStuffingBenchmark {
+
+	private static final int ACCOUNTS = 20;
+	private static final int ATTEMPTS_PER_ACCOUNT = 50;
+	private static final int IPS = 100;
+
+	@Param({ "off", "on" })
+	public String tracking;
+
+	@Param({ "10" })
+	public int strength;
+
+	private BCryptPasswordEncoder encoder;
+	private String storedHash;
+	private UserCache userCache;
+	private LoginAttemptTracker tracker;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		encoder = new BCryptPasswordEncoder(strength);
+		storedHash = encoder.encode("correct-password");
+		userCache = mock(UserCache.class);
+		when(userCache.findByEmail(anyString())).thenReturn(Optional.empty());
+	}
+
+	// A run takes a second or more, so a fresh tracker per invocation does not skew the timing
+	@Setup(Level.Invocation)
+	public void resetTracker() {
+		tracker = new LoginAttemptTracker(mock(LoginAttemptRepository.class), userCache, new SimpleMeterRegistry(),
+				Duration.ofMinutes(15), 5, 50, Duration.ofMinutes(15), 10_000);
+	}
+
+	// Returns how many attempts reached the password check
+	@Benchmark
+	public int attack() {
+		boolean tracked = "on".equals(tracking);
+		int hashed = 0;
+		for (int attempt = 0; attempt < ATTEMPTS_PER_ACCOUNT; attempt++) {
+			for (int account = 0; account < ACCOUNTS; account++) {
+				String email = "victim" + account + "@example.com";
+				String ip = "10.0." + (attempt * ACCOUNTS + account) % IPS + ".1";
+				if (tracked && tracker.isBlocked(email, ip)) {
+					continue;
+				}
+				hashed++;
+				if (!encoder.matches("guess-" + attempt, storedHash) && tracked) {
+					tracker.recordFailure(email, ip);
+				}
+			}
+		}
+		return hashed;
+	}
+
+}
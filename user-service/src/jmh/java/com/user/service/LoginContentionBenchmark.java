@@ -0,0 +1,118 @@
+package com.user.service;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.user.token.service.JWTService;
+import com.user.token.service.KeyRingService;
+import com.user.token.service.TokenRevocationService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// Login burst against token validation on the same JVM. The JMH threads play request threads: eight of
+// them log in while two validate tokens. "inline" hashes on the request thread as before; "offloaded"
+// hands the hash to PasswordHashingExecutor. Compare login ops/s and the validateToken p0.99 row.
+@State(Scope.Group)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class LoginContentionBenchmark {
+
+	private static final String PASSWORD = "correct-horse-battery";
+
+	@Param({ "inline", "offloaded" })
+	public String hashing;
+
+	@Param({ "12" })
+	public int strength;
+
+	private BCryptPasswordEncoder encoder;
+	private String storedHash;
+	private PasswordHashingExecutor executor;
+	private JWTService jwtService;
+	private String token;
+
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		encoder = new BCryptPasswordEncoder(strength);
+		storedHash = encoder.encode(PASSWORD);
+		if ("offloaded".equals(hashing)) {
+			executor = new PasswordHashingExecutor(PasswordHashingExecutor.defaultThreads(), 64);
+		}
+
+		KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+		generator.initialize(2048);
+		KeyPair keyPair = generator.generateKeyPair();
+		jwtService = new JWTService(new KeyRingService() {
+			@Override
+			public ActiveKey signingKey() {
+				return new ActiveKey("bench", keyPair.getPrivate());
+			}
+
+			@Override
+			public PublicKey verificationKey(String kid) {
+				return keyPair.getPublic();
+			}
+
+			@Override
+			public Map<String, Object> jwks() {
+				return Map.of();
+			}
+		}, new TokenRevocationService(null, new SimpleMeterRegistry(), 100_000, 0.001, Duration.ofSeconds(10)));
+		token = jwtService.generateToken("user@example.com");
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		if (executor != null) {
+			executor.shutdownNow();
+		}
+	}
+
+	@Benchmark
+	@Group("loginBurst")
+	@GroupThreads(8)
+	public boolean login() throws Exception {
+		if (executor == null) {
+			return encoder.matches(PASSWORD, storedHash);
+		}
+		try {
+			return executor.submit(() -> encoder.matches(PASSWORD, storedHash)).get();
+		} catch (RejectedExecutionException e) {
+			// The 503 path: counted as a completed (rejected) login
+			return false;
+		}
+	}
+
+	@Benchmark
+	@Group("loginBurst")
+	@GroupThreads(2)
+	public JWTService.ValidatedToken validateToken() {
+		return jwtService.validateToken(token);
+	}
+
+}
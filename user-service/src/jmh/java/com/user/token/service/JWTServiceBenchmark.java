@@ -0,0 +1,90 @@
+package com.user.token.service;
+
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// /validate-token cost: the previous shape (key decoded and parser rebuilt per call, token parsed twice)
+// against the prebuilt parser with key lookup by kid. Run with the gc profiler to compare allocation.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JWTServiceBenchmark {
+
+	private static final String KID = "bench";
+
+	private String encodedPublicKey;
+	private JWTService jwtService;
+	private String token;
+
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+		generator.initialize(2048);
+		KeyPair keyPair = generator.generateKeyPair();
+		encodedPublicKey = Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded());
+
+		jwtService = new JWTService(new KeyRingService() {
+			@Override
+			public ActiveKey signingKey() {
+				return new ActiveKey(KID, keyPair.getPrivate());
+			}
+
+			@Override
+			public PublicKey verificationKey(String kid) {
+				return KID.equals(kid) ? keyPair.getPublic() : null;
+			}
+
+			@Override
+			public Map<String, Object> jwks() {
+				return Map.of();
+			}
+		}, new TokenRevocationService(null, new SimpleMeterRegistry(), 100_000, 0.001, Duration.ofSeconds(10)));
+		token = jwtService.generateToken("user@example.com");
+	}
+
+	@Benchmark
+	public JWTService.ValidatedToken singleParse() {
+		return jwtService.validateToken(token);
+	}
+
+	// Reproduces the old validateToken: extractUsername parsed once, then the claims were parsed again
+	@Benchmark
+	public Claims legacyDoubleParse() throws Exception {
+		String username = Jwts.parser().verifyWith(legacyKey()).build().parseSignedClaims(token).getPayload()
+				.getSubject();
+		Claims claims = Jwts.parser().verifyWith(legacyKey()).build().parseSignedClaims(token).getPayload();
+		return username != null ? claims : null;
+	}
+
+	private PublicKey legacyKey() throws Exception {
+		return KeyFactory.getInstance("RSA")
+				.generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(encodedPublicKey)));
+	}
+
+}
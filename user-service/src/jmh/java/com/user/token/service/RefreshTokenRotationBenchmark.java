@@ -0,0 +1,102 @@
+package com.user.token.service;
+
+import static org.mockito.Mockito.mock;
+
+import java.util.concurrent.TimeUnit;
+
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.user.EmbeddedJpaContext;
+import com.user.dto.RefreshTokenRequestDTO;
+import com.user.entity.User;
+import com.user.repository.UserRepository;
+import com.user.service.UserCache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// getNewTokens on 16 threads, each rotating its own token: the compare-and-set UPDATE plus the successor's INSERT
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@Threads(16)
+public class RefreshTokenRotationBenchmark {
+
+	private ConfigurableApplicationContext context;
+	private RefreshTokenService refreshTokenService;
+	private String email;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = EmbeddedJpaContext.start(RefreshTokenServiceImpl.class, UserCache.class,
+				ActiveRefreshTokenCache.class, Beans.class);
+		refreshTokenService = context.getBean(RefreshTokenService.class);
+		email = context.getBean(UserRepository.class).save(User.builder().email("rotation@example.com")
+				.password("password123").firstName("Rotation").phoneNumber("9999999999").status("Active").build())
+				.getEmail();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public String rotate(Session session) {
+		RefreshTokenRequestDTO request = new RefreshTokenRequestDTO();
+		request.setRefreshToken(session.refreshToken);
+		session.refreshToken = refreshTokenService.getNewTokens(request).getRefreshToken();
+		return session.refreshToken;
+	}
+
+	// The refresh token one benchmark thread currently holds
+	@State(Scope.Thread)
+	public static class Session {
+
+		private String refreshToken;
+
+		@Setup(Level.Trial)
+		public void login(RefreshTokenRotationBenchmark benchmark) {
+			refreshToken = benchmark.refreshTokenService.createRefreshToken(benchmark.email).getToken();
+		}
+	}
+
+	@Configuration
+	static class Beans {
+
+		@Bean
+		ModelMapper modelMapper() {
+			return new ModelMapper();
+		}
+
+		@Bean
+		MeterRegistry meterRegistry() {
+			return new SimpleMeterRegistry();
+		}
+
+		@Bean
+		JWTService jwtService() {
+			return mock(JWTService.class);
+		}
+	}
+
+}
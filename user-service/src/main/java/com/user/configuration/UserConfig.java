@@ -1,8 +1,15 @@
 package com.user.configuration;
 
 import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import com.zaxxer.hikari.HikariDataSource;
 
 @Configuration
 public class UserConfig {
@@ -11,5 +18,29 @@ public class UserConfig {
 	ModelMapper modelMapper() {
 		return new ModelMapper();
 	}
-	
+
+	// The password hashing pools are Executor beans, which makes Boot back off from its own task executor
+	// and leaves MVC async requests (the NDJSON export) on SimpleAsyncTaskExecutor. Declared under Boot's
+	// name, built from the spring.task.execution.* settings, so MVC picks it up as before.
+	@Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+	ThreadPoolTaskExecutor applicationTaskExecutor(ThreadPoolTaskExecutorBuilder builder) {
+		return builder.build();
+	}
+
+	// Small pool for the NDJSON export with MySQL cursor fetch turned on, so only the export's reads are
+	// cursor-backed. Not a default candidate, so Boot still auto-configures the shared DataSource.
+	@Bean(defaultCandidate = false)
+	HikariDataSource exportDataSource(DataSourceProperties properties,
+			@Value("${user-listing.export-max-connections:2}") int maxConnections) {
+		String url = properties.determineUrl();
+		if (url.startsWith("jdbc:mysql:")) {
+			url += (url.contains("?") ? "&" : "?") + "useCursorFetch=true";
+		}
+		HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).url(url)
+				.build();
+		dataSource.setPoolName("user-export");
+		dataSource.setMaximumPoolSize(Math.max(1, maxConnections));
+		return dataSource;
+	}
+
 }
@@ -1,6 +1,7 @@
 package com.user.configuration;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -9,17 +10,30 @@ import org.springframework.security.authentication.dao.DaoAuthenticationProvider
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 
+import com.user.service.PasswordHashingExecutor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
 @Configuration
 @EnableWebSecurity
 public class UserSecurityConfig {
 	
 	@Autowired 
 	private UserDetailsService userDetailsService;
-	
+
+	@Autowired
+	private UserDetailsPasswordService userDetailsPasswordService;
+
+	// BCrypt cost for new hashes; stored hashes with a lower cost are re-hashed on the next successful login
+	@Value("${password.bcrypt.strength:12}")
+	private int bcryptStrength;
 	
 	@Bean
 	public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -33,8 +47,9 @@ public class UserSecurityConfig {
 	@Bean
 	public AuthenticationProvider authenticationProvider() {
 		DaoAuthenticationProvider dap = new DaoAuthenticationProvider();
-		dap.setPasswordEncoder(new BCryptPasswordEncoder(12));
+		dap.setPasswordEncoder(passwordEncoder());
 		dap.setUserDetailsService(userDetailsService);
+		dap.setUserDetailsPasswordService(userDetailsPasswordService);
 		return dap;
 	}
 	
@@ -45,6 +60,31 @@ public class UserSecurityConfig {
 	
 	@Bean
 	BCryptPasswordEncoder passwordEncoder() {
-		return new BCryptPasswordEncoder(12);
+		return new BCryptPasswordEncoder(bcryptStrength);
+	}
+
+	// Login and registration hashing; injected by name, like bulkPasswordHashingExecutor
+	@Bean
+	PasswordHashingExecutor passwordHashingExecutor(MeterRegistry meterRegistry,
+			@Value("${password.hashing.threads:0}") int threads,
+			@Value("${password.hashing.queue-capacity:64}") int queueCapacity) {
+		PasswordHashingExecutor executor = new PasswordHashingExecutor(
+				threads > 0 ? threads : PasswordHashingExecutor.defaultThreads(), queueCapacity);
+		new ExecutorServiceMetrics(executor, "password.hashing", Tags.empty()).bindTo(meterRegistry);
+		meterRegistry.more().counter("password.hashing.rejected", Tags.empty(), executor,
+				PasswordHashingExecutor::getRejectedCount);
+		return executor;
+	}
+
+	// Bulk registration hashes on its own pool so a large import cannot fill the login queue.
+	// The queue holds a whole insert batch, which is the most one bulk request submits at a time.
+	@Bean
+	PasswordHashingExecutor bulkPasswordHashingExecutor(MeterRegistry meterRegistry,
+			@Value("${user-bulk.hashing-threads:0}") int threads,
+			@Value("${user-bulk.batch-size:100}") int batchSize) {
+		PasswordHashingExecutor executor = new PasswordHashingExecutor(
+				threads > 0 ? threads : PasswordHashingExecutor.defaultThreads(), Math.max(1, batchSize));
+		new ExecutorServiceMetrics(executor, "password.hashing.bulk", Tags.empty()).bindTo(meterRegistry);
+		return executor;
 	}
 }
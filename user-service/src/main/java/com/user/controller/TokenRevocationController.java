@@ -0,0 +1,33 @@
+package com.user.controller;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.user.dto.TokenRevocationDTO;
+import com.user.token.service.TokenRevocationService;
+
+// The revocation feed the gateway tails so it stops accepting revoked access tokens that it verifies
+// locally or has cached. Outside api/users, so the gateway does not route it to clients: the subject
+// revocations name users.
+@RestController
+@RequestMapping("internal/token-revocations")
+public class TokenRevocationController {
+
+	@Autowired
+	private TokenRevocationService tokenRevocationService;
+
+	// Everything revoked after since (epoch millis) that still covers unexpired tokens
+	@GetMapping
+	public List<TokenRevocationDTO> revokedSince(@RequestParam(defaultValue = "0") long since) {
+		return tokenRevocationService.revokedSince(Instant.ofEpochMilli(since)).stream()
+				.map(row -> new TokenRevocationDTO(row.getRevocationKey(), row.getRevokedAt(), row.getExpiresAt()))
+				.toList();
+	}
+
+}
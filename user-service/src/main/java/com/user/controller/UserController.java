@@ -1,14 +1,24 @@
 package com.user.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -22,19 +32,30 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.user.dto.BulkRegisterResponseDTO;
 import com.user.dto.JwtResponseDTO;
 import com.user.dto.RefreshTokenRequestDTO;
 import com.user.dto.UserDTO;
 import com.user.dto.UserLoginDTO;
+import com.user.dto.UserPageDTO;
 import com.user.dto.UserRegisterDTO;
 import com.user.dto.UserResponseDTO;
 import com.user.exception.UserNotFoundException;
+import com.user.service.BulkRegistrationService;
+import com.user.service.LoginAttemptTracker;
+import com.user.service.PasswordHashingExecutor;
 import com.user.service.UserService;
 import com.user.token.service.JWTService;
+import com.user.token.service.KeyRingService;
 import com.user.token.service.RefreshTokenService;
+import com.user.token.service.TokenRevocationService;
 
-import io.jsonwebtoken.Claims;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
 @RestController
@@ -47,35 +68,110 @@ public class UserController {
 	@Autowired
 	private RefreshTokenService refreshTokenService;
 
+	@Autowired
+	private KeyRingService keyRingService;
+
+	@Autowired
+	@Qualifier("passwordHashingExecutor")
+	private PasswordHashingExecutor passwordHashingExecutor;
+
+	@Autowired
+	private BulkRegistrationService bulkRegistrationService;
+
+	@Autowired
+	private TokenRevocationService tokenRevocationService;
+
+	@Autowired
+	private LoginAttemptTracker loginAttemptTracker;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Value("${keyring.jwks-max-age:5m}")
+	private Duration jwksMaxAge;
+
 	public UserController(UserService userService, JWTService jwtService) {
 		this.userService = userService;
 		this.jwtService = jwtService;
 	}
 
+	// Login and registration hash passwords on the bounded hashing executor, so the request thread is
+	// released while BCrypt runs; a full queue is answered with 503 instead of waiting
+	// Clients over the failed-login limit are refused before any hashing is queued
 	@PostMapping("/login")
-	public ResponseEntity<?> userLogin(@RequestBody @Valid UserLoginDTO userLoginDTO) {
-		try {
-			// Attempt to authenticate the user
-			JwtResponseDTO keys = userService.authenticateUser(userLoginDTO);
+	public CompletableFuture<ResponseEntity<?>> userLogin(@RequestBody @Valid UserLoginDTO userLoginDTO,
+			HttpServletRequest request) {
+		String email = userLoginDTO.getEmail();
+		String ip = clientIp(request);
+		if (loginAttemptTracker.isBlocked(email, ip)) {
+			return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+					.header(HttpHeaders.RETRY_AFTER, String.valueOf(loginAttemptTracker.retryAfter().toSeconds()))
+					.body(Map.of("message", "Too many failed login attempts, please try again later.")));
+		}
+		return CompletableFuture.supplyAsync(() -> userService.authenticateUser(userLoginDTO), passwordHashingExecutor)
+				.whenComplete((keys, error) -> {
+					if (error == null) {
+						loginAttemptTracker.recordSuccess(email);
+					} else if (causedBy(error, BadCredentialsException.class)) {
+						loginAttemptTracker.recordFailure(email, ip);
+					}
+				})
+				// If successful, return the key
+				.<ResponseEntity<?>>thenApply(keys -> ResponseEntity.ok().body(Map.of("message", "Login successful!", "keys", keys)))
+				.exceptionally(error -> loginFailure(error instanceof CompletionException ? error.getCause() : error));
+	}
+
+	// user-service is only reached through the gateway, which is the edge (see PrincipalOrIpKeyResolver) and
+	// appends the socket address of its caller to X-Forwarded-For. Earlier entries come from the client and
+	// can be forged, so only the last one is trusted.
+	private static String clientIp(HttpServletRequest request) {
+		String forwarded = request.getHeader("X-Forwarded-For");
+		if (forwarded != null && !forwarded.isBlank()) {
+			String last = forwarded.substring(forwarded.lastIndexOf(',') + 1).trim();
+			if (!last.isEmpty()) {
+				return last;
+			}
+		}
+		return request.getRemoteAddr();
+	}
+
+	private static boolean causedBy(Throwable error, Class<? extends Throwable> type) {
+		for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+			if (type.isInstance(cause)) {
+				return true;
+			}
+		}
+		return false;
+	}
 
-			// If successful, return the key
-			return ResponseEntity.ok().body(Map.of("message", "Login successful!", "keys", keys));
-		} catch (AuthenticationException e) {
+	private ResponseEntity<?> loginFailure(Throwable e) {
+		if (e instanceof AuthenticationException) {
 			// Handle authentication failures
 			return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
 					.body(Map.of("message", "Invalid email or password!", "error", e.getMessage()));
-		} catch (Exception e) {
-			// Handle any unexpected errors
-			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-					.body(Map.of("message", "An unexpected error occurred during login.", "error", e.getMessage()));
 		}
+		// Handle any unexpected errors
+		return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+				.body(Map.of("message", "An unexpected error occurred during login.", "error", String.valueOf(e.getMessage())));
 	}
 
 	@PostMapping("/register")
 	@ResponseStatus(HttpStatus.OK)
-	public ResponseEntity<String> userRegister(@RequestBody @Valid UserRegisterDTO userRegisterDTO) {
-		userService.registerUser(userRegisterDTO);
-		return ResponseEntity.status(HttpStatus.CREATED).body("Registration Successfull!");
+	public CompletableFuture<ResponseEntity<String>> userRegister(@RequestBody @Valid UserRegisterDTO userRegisterDTO) {
+		return CompletableFuture.runAsync(() -> userService.registerUser(userRegisterDTO), passwordHashingExecutor)
+				.thenApply(done -> ResponseEntity.status(HttpStatus.CREATED).body("Registration Successfull!"));
+	}
+
+	// Register many users at once from a JSON array or NDJSON. The body is read record by record as batches
+	// are stored, and the response has one result per record; failed records do not fail the others.
+	@PostMapping(value = "/bulk-register", consumes = { MediaType.APPLICATION_JSON_VALUE,
+			MediaType.APPLICATION_NDJSON_VALUE })
+	public ResponseEntity<BulkRegisterResponseDTO> bulkRegister(InputStream body) throws IOException {
+		// A top-level array is unwrapped into its elements, so both formats go through the same reader
+		try (MappingIterator<UserRegisterDTO> records = objectMapper.readerFor(UserRegisterDTO.class)
+				.readValues(body)) {
+			return ResponseEntity.ok(bulkRegistrationService.registerAll(records));
+		}
 	}
 
 	// Fetch a user by ID
@@ -108,16 +204,18 @@ public class UserController {
 		}
 	}
 
-	// Fetch all users
+	// List users a page at a time; pass the returned nextCursor as "after" for the next page
 	@GetMapping("/")
-	public ResponseEntity<List<UserResponseDTO>> getAllUsers() {
-		try {
-			List<UserResponseDTO> users = userService.getAllUsers();
-			return ResponseEntity.ok(users); // Return 200 OK with the list of users
-		} catch (Exception ex) {
-			// Return 500 Internal Server Error for unexpected issues
-			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
-		}
+	public ResponseEntity<UserPageDTO> getAllUsers(@RequestParam(required = false) Long after,
+			@RequestParam(required = false) Integer limit, @RequestParam(required = false) List<String> fields) {
+		return ResponseEntity.ok(userService.getUsersPage(after, limit, fields));
+	}
+
+	// Export every user as NDJSON, streamed from a database cursor
+	@GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> exportUsers(@RequestParam(required = false) List<String> fields) {
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON)
+				.body(out -> userService.exportUsers(fields, out));
 	}
 
 	@PutMapping("/{userId}")
@@ -166,12 +264,11 @@ public class UserController {
 
 			// Remove "Bearer " prefix
 			String token = bearerToken.substring(7);
-			System.out.println("Extracted Token: " + token);
-			Claims claims = jwtService.validateToken(token);
+			JWTService.ValidatedToken validated = jwtService.validateToken(token);
 			response.put("valid", true);
-			response.put("username", claims.getSubject());
-			response.put("roles", claims.get("roles", List.class));
-			response.put("claims", claims);
+			response.put("username", validated.subject());
+			response.put("roles", validated.roles());
+			response.put("claims", validated.claims());
 			return ResponseEntity.ok(response);
 		} catch (Exception e) {
 			Map<String, Object> response = new HashMap<>();
@@ -181,6 +278,34 @@ public class UserController {
 		}
 	}
 
+	// Public keys for verifying access tokens; cached by verifiers for less than the publish-ahead window
+	@GetMapping("/.well-known/jwks.json")
+	public ResponseEntity<Map<String, Object>> jwks() {
+		return ResponseEntity.ok().cacheControl(CacheControl.maxAge(jwksMaxAge).cachePublic())
+				.body(keyRingService.jwks());
+	}
+
+	// Revokes the presented access token on every replica and, if one is sent, the refresh token as well
+	@PostMapping("/logout")
+	public ResponseEntity<String> logout(@RequestHeader(HttpHeaders.AUTHORIZATION) String bearerToken,
+			@RequestBody(required = false) RefreshTokenRequestDTO refreshToken) {
+		if (bearerToken == null || !bearerToken.startsWith("Bearer ")) {
+			return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+					.body("Authorization header is missing or improperly formatted.");
+		}
+		JWTService.ValidatedToken validated;
+		try {
+			validated = jwtService.validateToken(bearerToken.substring(7));
+		} catch (Exception e) {
+			return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
+		}
+		tokenRevocationService.revokeToken(validated.jti(), validated.expiration().toInstant());
+		if (refreshToken != null && refreshToken.getRefreshToken() != null) {
+			refreshTokenService.updateById(refreshToken);
+		}
+		return ResponseEntity.ok("Logged out successfully!");
+	}
+
 	@PostMapping("/refresh")
 	public ResponseEntity<JwtResponseDTO> getNewTokens(@RequestBody RefreshTokenRequestDTO refreshToken) {
 		try {
@@ -0,0 +1,22 @@
+package com.user.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkRegisterResponseDTO {
+
+	private int created;
+
+	private int rejected;
+
+	// One result per record, in request order
+	private List<BulkRegisterResultDTO> results;
+}
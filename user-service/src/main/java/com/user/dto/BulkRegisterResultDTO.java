@@ -0,0 +1,30 @@
+package com.user.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkRegisterResultDTO {
+
+	public enum Status {
+		CREATED, INVALID, DUPLICATE, FAILED
+	}
+
+	// Position of the record in the request, starting at 0
+	private int index;
+
+	private String email;
+
+	private Status status;
+
+	// Set only for created users
+	private Long userId;
+
+	// Why the record was not created
+	private String error;
+}
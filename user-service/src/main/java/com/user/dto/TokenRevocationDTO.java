@@ -0,0 +1,20 @@
+package com.user.dto;
+
+import java.time.Instant;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One entry of the revocation feed; key is "jti:<token id>" or "sub:<subject>" as in token_revocation
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenRevocationDTO {
+
+	private String key;
+
+	private Instant revokedAt;
+
+	private Instant expiresAt;
+}
@@ -0,0 +1,22 @@
+package com.user.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserPageDTO {
+
+	// Only the requested fields of each user
+	private List<Map<String, Object>> users;
+
+	// Pass as "after" to get the next page; null on the last page
+	private Long nextCursor;
+}
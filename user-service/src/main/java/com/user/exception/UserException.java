@@ -1,7 +1,9 @@
 package com.user.exception;
 
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -32,6 +34,13 @@ public class UserException {
 				.body("An unexpected error occurred: " + ex.getMessage());
 	}
 	
+	// The password hashing queue is full; shed the request instead of queueing it behind the burst
+	@ExceptionHandler(RejectedExecutionException.class)
+	public ResponseEntity<String> handleRejectedExecutionException(RejectedExecutionException ex) {
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1")
+				.body("Server is busy, please retry.");
+	}
+
 	@ExceptionHandler(UserNotFoundException.class)
 	public ResponseEntity<String> handleUserNotFoundException(UserNotFoundException ex) {
 	    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
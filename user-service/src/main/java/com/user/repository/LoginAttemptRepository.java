@@ -0,0 +1,34 @@
+package com.user.repository;
+
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+// Write-behind target of the login attempt tracker: the latest failed-attempt count and lock flag of
+// many users, sent as one JDBC batch
+@Repository
+public class LoginAttemptRepository {
+
+	private final JdbcTemplate jdbcTemplate;
+
+	public LoginAttemptRepository(JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	public void updateLockStates(List<LockState> states) {
+		if (states.isEmpty()) {
+			return;
+		}
+		jdbcTemplate.batchUpdate("UPDATE users SET failed_attempts = ?, account_locked = ? WHERE email = ?",
+				states, states.size(), (ps, state) -> {
+					ps.setInt(1, state.failedAttempts());
+					ps.setBoolean(2, state.locked());
+					ps.setString(3, state.email());
+				});
+	}
+
+	public record LockState(String email, int failedAttempts, boolean locked) {
+	}
+
+}
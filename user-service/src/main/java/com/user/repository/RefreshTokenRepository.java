@@ -1,5 +1,6 @@
 package com.user.repository;
 
+import java.time.Instant;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -11,16 +12,34 @@ import org.springframework.transaction.annotation.Transactional;
 import com.user.token.RefreshToken;
 
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
-	Optional<RefreshToken> findByToken(String token);
+	Optional<RefreshToken> findByTokenHash(String tokenHash);
 
 //	@Modifying
 //    @Transactional
-	@Query(value = "SELECT a FROM RefreshToken a WHERE a.userInfo.userId = :userId AND a.token = :token")
-	RefreshToken updateRecord(@Param("userId") long userId, @Param("token") String token);
+	@Query(value = "SELECT a FROM RefreshToken a WHERE a.userInfo.userId = :userId AND a.tokenHash = :tokenHash")
+	RefreshToken updateRecord(@Param("userId") long userId, @Param("tokenHash") String tokenHash);
 
 	@Modifying
 	@Transactional
-	@Query(value = "UPDATE RefreshToken SET status = 'i' WHERE token = :token")
-	void updateById(@Param("token") String token);
+	@Query(value = "UPDATE RefreshToken SET status = 'i' WHERE tokenHash = :tokenHash")
+	void updateById(@Param("tokenHash") String tokenHash);
+
+	// Compare-and-set rotation: only the caller that flips an active, unexpired token to 'i' gets 1 back,
+	// so two concurrent refreshes with the same token cannot both succeed
+	@Modifying
+	@Transactional
+	@Query(value = "UPDATE RefreshToken SET status = 'i' WHERE tokenHash = :tokenHash AND status = 'a' AND expiryDate > :now")
+	int invalidateIfActive(@Param("tokenHash") String tokenHash, @Param("now") Instant now);
+
+	@Modifying
+	@Transactional
+	@Query(value = "UPDATE RefreshToken SET status = 'i' WHERE userInfo.userId = :userId AND status = 'a'")
+	int invalidateAllForUser(@Param("userId") long userId);
+
+	// One bounded chunk per call and per transaction, so the sweeper never holds long row locks
+	@Modifying
+	@Transactional
+	@Query(value = "DELETE FROM refresh_token WHERE expiry_date < :now OR status = 'i' LIMIT :batchSize", nativeQuery = true)
+	int deleteExpiredBatch(@Param("now") Instant now, @Param("batchSize") int batchSize);
 
 }
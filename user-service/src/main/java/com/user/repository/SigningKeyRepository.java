@@ -0,0 +1,23 @@
+package com.user.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.user.token.SigningKey;
+
+public interface SigningKeyRepository extends JpaRepository<SigningKey, String> {
+
+	List<SigningKey> findByVerifyUntilAfter(Instant now);
+
+	@Modifying
+	@Transactional
+	@Query(value = "DELETE FROM SigningKey WHERE verifyUntil < :now")
+	int deleteExpired(@Param("now") Instant now);
+
+}
@@ -0,0 +1,24 @@
+package com.user.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.user.token.TokenRevocation;
+
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, Long> {
+
+	// The revocation stream: everything revoked since the last poll that still covers live tokens
+	List<TokenRevocation> findByRevokedAtAfterAndExpiresAtAfter(Instant since, Instant now);
+
+	@Modifying
+	@Transactional
+	@Query("DELETE FROM TokenRevocation r WHERE r.expiresAt < :now")
+	int deleteExpired(@Param("now") Instant now);
+
+}
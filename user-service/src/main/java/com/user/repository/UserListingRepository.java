@@ -0,0 +1,79 @@
+package com.user.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+// Column-projected reads of the users table for listing and export. Pages use a keyset on user_id
+// instead of OFFSET, so every page costs the same; exports stream through a cursor.
+@Repository
+public class UserListingRepository {
+
+	// Listable fields and their columns; password and anything else not listed here can never be selected
+	private static final Map<String, String> COLUMNS = Map.ofEntries(Map.entry("userId", "user_id"),
+			Map.entry("email", "email"), Map.entry("firstName", "first_name"), Map.entry("middleName", "middle_name"),
+			Map.entry("lastName", "last_name"), Map.entry("phoneNumber", "phone_number"),
+			Map.entry("address", "address"), Map.entry("city", "city"), Map.entry("state", "state"),
+			Map.entry("pincode", "pincode"), Map.entry("role", "role"), Map.entry("status", "status"),
+			Map.entry("accountLocked", "account_locked"), Map.entry("failedAttempts", "failed_attempts"),
+			Map.entry("emailVerified", "email_verified"), Map.entry("createdAt", "created_at"),
+			Map.entry("updatedAt", "updated_at"));
+
+	private final JdbcTemplate jdbcTemplate;
+	private final JdbcTemplate streamingJdbcTemplate;
+
+	public UserListingRepository(JdbcTemplate jdbcTemplate, @Qualifier("exportDataSource") DataSource exportDataSource,
+			@Value("${user-listing.export-fetch-size:500}") int exportFetchSize) {
+		this.jdbcTemplate = jdbcTemplate;
+		// The export pool has useCursorFetch=true, where a fetch size makes MySQL hand rows over in chunks
+		this.streamingJdbcTemplate = new JdbcTemplate(exportDataSource);
+		this.streamingJdbcTemplate.setFetchSize(exportFetchSize);
+	}
+
+	public static boolean isListable(String field) {
+		return COLUMNS.containsKey(field);
+	}
+
+	// Users with user_id greater than afterId, in id order
+	public List<Map<String, Object>> findPage(long afterId, int limit, List<String> fields) {
+		String sql = "SELECT " + select(fields) + " FROM users WHERE user_id > ? ORDER BY user_id LIMIT ?";
+		return jdbcTemplate.query(sql, (rs, rowNum) -> toRow(rs, fields), afterId, limit);
+	}
+
+	// Rows are handed to the sink one at a time as the driver fetches them, so memory stays flat
+	public void streamAll(List<String> fields, Consumer<Map<String, Object>> sink) {
+		String sql = "SELECT " + select(fields) + " FROM users ORDER BY user_id";
+		streamingJdbcTemplate.query(sql, rs -> {
+			sink.accept(toRow(rs, fields));
+		});
+	}
+
+	private static String select(List<String> fields) {
+		StringBuilder select = new StringBuilder();
+		for (String field : fields) {
+			select.append(select.isEmpty() ? "" : ", ").append(COLUMNS.get(field));
+		}
+		return select.toString();
+	}
+
+	private static Map<String, Object> toRow(ResultSet rs, List<String> fields) throws SQLException {
+		Map<String, Object> row = new LinkedHashMap<>();
+		for (String field : fields) {
+			Object value = rs.getObject(COLUMNS.get(field));
+			row.put(field, value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : value);
+		}
+		return row;
+	}
+
+}
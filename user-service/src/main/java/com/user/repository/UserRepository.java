@@ -1,11 +1,14 @@
 package com.user.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.user.entity.User;
 
@@ -13,7 +16,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
 	Optional<User> findByEmailAndPassword(String email, String password);
 
-	@Modifying
+	// Bulk updates bypass the persistence context; clear it so later reads in the transaction see the new row
+	@Modifying(clearAutomatically = true)
 	@Query("UPDATE User u SET " +
 	       "u.email = :#{#user.email}, " +
 	       "u.password = :#{#user.password}, " +
@@ -29,11 +33,20 @@ public interface UserRepository extends JpaRepository<User, Long> {
 	       "WHERE u.userId = :userId")
 	void updateUser(@Param("userId") long userId, @Param("user") User user);
 
-	@Modifying
+	@Modifying(clearAutomatically = true)
 	@Query("UPDATE User u SET u.status = 'Inactive' WHERE u.userId = :userId")
 	void deactivateStatus(@Param("userId") long userId);
 
 	Optional<User> findByEmail(String email);
 
+	// Which of the given emails are already registered, in one query per bulk registration batch
+	@Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+	List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+	@Modifying(clearAutomatically = true)
+	@Transactional
+	@Query("UPDATE User u SET u.password = :password WHERE u.email = :email")
+	int updatePassword(@Param("email") String email, @Param("password") String password);
+
 
 }
@@ -0,0 +1,222 @@
+package com.user.service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.user.dto.BulkRegisterResponseDTO;
+import com.user.dto.BulkRegisterResultDTO;
+import com.user.dto.BulkRegisterResultDTO.Status;
+import com.user.dto.UserRegisterDTO;
+import com.user.entity.User;
+import com.user.repository.UserRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+
+// Registers many users in one request. Records are read a batch at a time, so the request size does not
+// bound memory: each batch is validated, checked for taken emails with one query, hashed in parallel on
+// the bulk hashing pool and inserted in its own transaction as one JDBC batch. If a batch insert fails,
+// its rows are retried one by one so a single bad record only fails itself.
+@Service
+@Slf4j
+public class BulkRegistrationService {
+
+	private final UserRepository userRepo;
+	private final ModelMapper modelMapper;
+	private final BCryptPasswordEncoder passwordEncoder;
+	private final PasswordHashingExecutor hashingExecutor;
+	private final Validator validator;
+	private final TransactionTemplate transactionTemplate;
+	private final MeterRegistry meterRegistry;
+	private final int batchSize;
+
+	public BulkRegistrationService(UserRepository userRepo, ModelMapper modelMapper,
+			BCryptPasswordEncoder passwordEncoder,
+			@Qualifier("bulkPasswordHashingExecutor") PasswordHashingExecutor hashingExecutor, Validator validator,
+			PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+			@Value("${user-bulk.batch-size:100}") int batchSize) {
+		this.userRepo = userRepo;
+		this.modelMapper = modelMapper;
+		this.passwordEncoder = passwordEncoder;
+		this.hashingExecutor = hashingExecutor;
+		this.validator = validator;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.meterRegistry = meterRegistry;
+		this.batchSize = Math.max(1, batchSize);
+	}
+
+	public BulkRegisterResponseDTO registerAll(Iterator<UserRegisterDTO> records) {
+		List<BulkRegisterResultDTO> results = new ArrayList<>();
+		List<Pending> batch = new ArrayList<>(batchSize);
+		int index = 0;
+		while (true) {
+			UserRegisterDTO record;
+			try {
+				if (!records.hasNext()) {
+					break;
+				}
+				record = records.next();
+			} catch (RuntimeException e) {
+				// The reader cannot resynchronise after malformed input, so the rest of the request is dropped
+				log.warn("Bulk registration stopped at record {}: {}", index, e.getMessage());
+				results.add(result(index, null, Status.INVALID, "Unreadable record: " + e.getMessage()));
+				break;
+			}
+			batch.add(new Pending(index++, record));
+			if (batch.size() == batchSize) {
+				process(batch, results);
+				batch.clear();
+			}
+		}
+		if (!batch.isEmpty()) {
+			process(batch, results);
+		}
+
+		int created = (int) results.stream().filter(r -> r.getStatus() == Status.CREATED).count();
+		return BulkRegisterResponseDTO.builder().created(created).rejected(results.size() - created)
+				.results(results).build();
+	}
+
+	private void process(List<Pending> batch, List<BulkRegisterResultDTO> results) {
+		List<Pending> accepted = new ArrayList<>(batch.size());
+		for (Pending pending : batch) {
+			String error = validate(pending.record);
+			if (error != null) {
+				pending.result = result(pending.index, pending.record.getEmail(), Status.INVALID, error);
+			} else {
+				accepted.add(pending);
+			}
+		}
+
+		rejectTakenEmails(accepted);
+		accepted.removeIf(pending -> pending.result != null);
+
+		hash(accepted);
+		insert(accepted);
+
+		for (Pending pending : batch) {
+			meterRegistry.counter("users.bulk.registered", "status", pending.result.getStatus().name()).increment();
+			results.add(pending.result);
+		}
+	}
+
+	private String validate(UserRegisterDTO record) {
+		if (record == null) {
+			return "Record is empty";
+		}
+		Set<ConstraintViolation<UserRegisterDTO>> violations = validator.validate(record);
+		if (violations.isEmpty()) {
+			return null;
+		}
+		return violations.stream().map(v -> v.getPropertyPath() + ": " + v.getMessage()).sorted()
+				.collect(Collectors.joining(", "));
+	}
+
+	// Emails repeated inside the request or already stored are rejected before any hashing is spent on them
+	private void rejectTakenEmails(List<Pending> accepted) {
+		if (accepted.isEmpty()) {
+			return;
+		}
+		Set<String> emails = accepted.stream().map(p -> p.record.getEmail()).collect(Collectors.toSet());
+		Set<String> taken = new HashSet<>(userRepo.findExistingEmails(emails));
+		Set<String> seen = new HashSet<>();
+		for (Pending pending : accepted) {
+			String email = pending.record.getEmail();
+			if (taken.contains(email) || !seen.add(email)) {
+				pending.result = result(pending.index, email, Status.DUPLICATE, "Email is already registered");
+			}
+		}
+	}
+
+	// A batch never exceeds the bulk pool's queue, so submissions only bounce when two bulk requests overlap;
+	// those hashes run on the calling thread instead of failing the records
+	private void hash(List<Pending> accepted) {
+		List<CompletableFuture<Void>> futures = new ArrayList<>(accepted.size());
+		for (Pending pending : accepted) {
+			Runnable task = () -> pending.passwordHash = passwordEncoder.encode(pending.record.getPassword());
+			try {
+				futures.add(CompletableFuture.runAsync(task, hashingExecutor));
+			} catch (RejectedExecutionException e) {
+				task.run();
+			}
+		}
+		CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+	}
+
+	private void insert(List<Pending> accepted) {
+		if (accepted.isEmpty()) {
+			return;
+		}
+		try {
+			List<User> users = accepted.stream().map(this::toUser).toList();
+			transactionTemplate.executeWithoutResult(status -> userRepo.saveAll(users));
+			for (int i = 0; i < accepted.size(); i++) {
+				Pending pending = accepted.get(i);
+				pending.result = created(pending, users.get(i));
+			}
+		} catch (RuntimeException e) {
+			log.warn("Bulk insert of {} users failed, retrying row by row: {}", accepted.size(), e.getMessage());
+			accepted.forEach(this::insertOne);
+		}
+	}
+
+	private void insertOne(Pending pending) {
+		try {
+			// A fresh entity: the one from the failed batch already holds an id that was never inserted
+			User user = toUser(pending);
+			transactionTemplate.executeWithoutResult(status -> userRepo.save(user));
+			pending.result = created(pending, user);
+		} catch (DataIntegrityViolationException e) {
+			pending.result = result(pending.index, pending.record.getEmail(), Status.DUPLICATE,
+					"Email or phone number is already registered");
+		} catch (RuntimeException e) {
+			pending.result = result(pending.index, pending.record.getEmail(), Status.FAILED, e.getMessage());
+		}
+	}
+
+	private User toUser(Pending pending) {
+		User user = modelMapper.map(pending.record, User.class);
+		user.setPassword(pending.passwordHash);
+		return user;
+	}
+
+	private static BulkRegisterResultDTO created(Pending pending, User user) {
+		return BulkRegisterResultDTO.builder().index(pending.index).email(user.getEmail()).status(Status.CREATED)
+				.userId(user.getUserId()).build();
+	}
+
+	private static BulkRegisterResultDTO result(int index, String email, Status status, String error) {
+		return BulkRegisterResultDTO.builder().index(index).email(email).status(status).error(error).build();
+	}
+
+	private static class Pending {
+		final int index;
+		final UserRegisterDTO record;
+		// Written by a hashing thread, read after the batch's futures have been joined
+		volatile String passwordHash;
+		BulkRegisterResultDTO result;
+
+		Pending(int index, UserRegisterDTO record) {
+			this.index = index;
+			this.record = record;
+		}
+	}
+
+}
@@ -0,0 +1,197 @@
+package com.user.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.user.dto.UserResponseDTO;
+import com.user.repository.LoginAttemptRepository;
+import com.user.repository.LoginAttemptRepository.LockState;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+// Failed logins per email and per client IP over a sliding window, checked before any password is
+// hashed so a credential-stuffing run stops costing BCrypt work once it crosses the threshold.
+// Each key's window is one AtomicLong updated by CAS, held in a bounded Caffeine map; an email that
+// reaches its limit is locked for lock-duration. The users table gets the resulting failed_attempts and
+// account_locked values write-behind, in one JDBC batch per flush.
+@Component
+@Slf4j
+public class LoginAttemptTracker {
+
+	private static final String EMAIL_PREFIX = "email:";
+	private static final String IP_PREFIX = "ip:";
+
+	private final LoginAttemptRepository loginAttemptRepository;
+	private final UserCache userCache;
+	private final long windowMillis;
+	private final int maxPerEmail;
+	private final int maxPerIp;
+	private final long lockMillis;
+
+	private final Cache<String, AttemptWindow> windows;
+	// Latest lock state per email waiting to be written; newer states replace older ones before a flush
+	private final Map<String, LockState> pending = new ConcurrentHashMap<>();
+
+	private final Counter rejectedByEmail;
+	private final Counter rejectedByIp;
+	private final Counter failures;
+
+	public LoginAttemptTracker(LoginAttemptRepository loginAttemptRepository, UserCache userCache,
+			MeterRegistry meterRegistry, @Value("${login-attempts.window:15m}") Duration window,
+			@Value("${login-attempts.max-per-email:5}") int maxPerEmail,
+			@Value("${login-attempts.max-per-ip:50}") int maxPerIp,
+			@Value("${login-attempts.lock-duration:15m}") Duration lockDuration,
+			@Value("${login-attempts.max-tracked-keys:100000}") long maxTrackedKeys) {
+		this.loginAttemptRepository = loginAttemptRepository;
+		this.userCache = userCache;
+		this.windowMillis = window.toMillis();
+		this.maxPerEmail = maxPerEmail;
+		this.maxPerIp = maxPerIp;
+		this.lockMillis = lockDuration.toMillis();
+		// A key untouched for two windows has nothing left to count
+		this.windows = Caffeine.newBuilder().maximumSize(maxTrackedKeys)
+				.expireAfterAccess(Duration.ofMillis(Math.max(2 * windowMillis, lockMillis))).recordStats().build();
+		CaffeineCacheMetrics.monitor(meterRegistry, windows, "login.attempts");
+
+		this.rejectedByEmail = meterRegistry.counter("login.attempts.rejected", "reason", "email");
+		this.rejectedByIp = meterRegistry.counter("login.attempts.rejected", "reason", "ip");
+		this.failures = meterRegistry.counter("login.attempts.failed");
+	}
+
+	// True when the attempt must be refused without checking the password
+	public boolean isBlocked(String email, String ip) {
+		long now = System.currentTimeMillis();
+		AttemptWindow byEmail = email != null ? windows.getIfPresent(EMAIL_PREFIX + email) : null;
+		if (byEmail != null && (byEmail.lockedUntil > now || byEmail.estimate(now, windowMillis) >= maxPerEmail)) {
+			rejectedByEmail.increment();
+			return true;
+		}
+		AttemptWindow byIp = ip != null ? windows.getIfPresent(IP_PREFIX + ip) : null;
+		if (byIp != null && byIp.estimate(now, windowMillis) >= maxPerIp) {
+			rejectedByIp.increment();
+			return true;
+		}
+		return false;
+	}
+
+	// How long a blocked client should wait before trying again
+	public Duration retryAfter() {
+		return Duration.ofMillis(Math.min(windowMillis, lockMillis));
+	}
+
+	public void recordFailure(String email, String ip) {
+		long now = System.currentTimeMillis();
+		failures.increment();
+		if (ip != null) {
+			windows.get(IP_PREFIX + ip, key -> new AttemptWindow()).increment(now, windowMillis);
+		}
+		if (email == null) {
+			return;
+		}
+		AttemptWindow byEmail = windows.get(EMAIL_PREFIX + email, key -> new AttemptWindow());
+		int attempts = byEmail.increment(now, windowMillis);
+		boolean locked = attempts >= maxPerEmail;
+		if (locked && byEmail.lockedUntil <= now) {
+			byEmail.lockedUntil = now + lockMillis;
+			log.warn("Locking {} for {} ms after {} failed logins", email, lockMillis, attempts);
+		}
+		pending.put(email, new LockState(email, attempts, locked));
+	}
+
+	// A successful login clears the email's window; the stored counters are reset if they were ever set
+	public void recordSuccess(String email) {
+		AttemptWindow byEmail = windows.asMap().remove(EMAIL_PREFIX + email);
+		UserResponseDTO user = userCache.findByEmail(email).orElse(null);
+		if (byEmail != null || (user != null && (user.getFailedAttempts() > 0 || user.isAccountLocked()))) {
+			pending.put(email, new LockState(email, 0, false));
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${login-attempts.flush-interval-ms:5000}")
+	public void flush() {
+		List<LockState> batch = new ArrayList<>(pending.size());
+		for (String email : pending.keySet()) {
+			LockState state = pending.remove(email);
+			if (state != null) {
+				batch.add(state);
+			}
+		}
+		if (batch.isEmpty()) {
+			return;
+		}
+		try {
+			loginAttemptRepository.updateLockStates(batch);
+		} catch (RuntimeException e) {
+			// Put them back unless a newer state arrived meanwhile; the next flush retries
+			log.warn("Could not write {} login lock states: {}", batch.size(), e.getMessage());
+			batch.forEach(state -> pending.putIfAbsent(state.email(), state));
+			return;
+		}
+		for (LockState state : batch) {
+			userCache.findByEmail(state.email()).ifPresent(user -> userCache.evict(user.getUserId(), state.email()));
+		}
+	}
+
+	// A sliding window approximated from two fixed ones: the previous window's count is weighted by how
+	// much of it still overlaps the sliding window. Window index and both counts share one long so an
+	// attempt is a single CAS: [window index: 32 bits][previous count: 16 bits][current count: 16 bits].
+	static class AttemptWindow {
+		private static final long COUNT_MASK = 0xFFFF;
+
+		private final AtomicLong state = new AtomicLong();
+		volatile long lockedUntil;
+
+		// Returns the attempts in the sliding window, including this one
+		int increment(long now, long windowMillis) {
+			long index = now / windowMillis;
+			long current;
+			long next;
+			do {
+				current = state.get();
+				long stateIndex = current >>> 32;
+				long previousCount;
+				long currentCount;
+				if (stateIndex == index) {
+					previousCount = (current >>> 16) & COUNT_MASK;
+					currentCount = Math.min(COUNT_MASK, (current & COUNT_MASK) + 1);
+				} else {
+					previousCount = stateIndex == index - 1 ? current & COUNT_MASK : 0;
+					currentCount = 1;
+				}
+				next = (index << 32) | (previousCount << 16) | currentCount;
+			} while (!state.compareAndSet(current, next));
+			return estimate(next, now, windowMillis);
+		}
+
+		int estimate(long now, long windowMillis) {
+			return estimate(state.get(), now, windowMillis);
+		}
+
+		private static int estimate(long packed, long now, long windowMillis) {
+			long index = now / windowMillis;
+			long stateIndex = packed >>> 32;
+			double remaining = 1 - (double) (now % windowMillis) / windowMillis;
+			if (stateIndex == index) {
+				return (int) Math.ceil(((packed >>> 16) & COUNT_MASK) * remaining + (packed & COUNT_MASK));
+			}
+			if (stateIndex == index - 1) {
+				return (int) Math.ceil((packed & COUNT_MASK) * remaining);
+			}
+			return 0;
+		}
+	}
+
+}
@@ -1,21 +1,19 @@
 package com.user.service;
 
-import java.util.Optional;
-
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
 
 import com.user.dto.UserResponseDTO;
-import com.user.entity.User;
 import com.user.entity.UserPrincipal;
 import com.user.repository.UserRepository;
 
 @Component
-public class MyUserDetailsService implements UserDetailsService {
+public class MyUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
 	@Autowired
 	private UserRepository userRepo;
@@ -23,11 +21,26 @@ public class MyUserDetailsService implements UserDetailsService {
 	@Autowired
 	private ModelMapper modelMapper;
 
+	@Autowired
+	private UserCache userCache;
+
 	@Override
 	public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
 		// TODO Auto-generated method stub
-		Optional<User> user = userRepo.findByEmail(username);
-		UserResponseDTO userResponse = modelMapper.map(user.get(), UserResponseDTO.class);
+		UserResponseDTO userResponse = userCache.findByEmail(username)
+				.orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+		return new UserPrincipal(userResponse);
+	}
+
+	// Called by DaoAuthenticationProvider after a successful login whose stored hash uses an older cost
+	@Override
+	public UserDetails updatePassword(UserDetails user, String newPassword) {
+		userRepo.updatePassword(user.getUsername(), newPassword);
+		UserResponseDTO current = userCache.findByEmail(user.getUsername()).get();
+		userCache.evict(current.getUserId(), current.getEmail());
+		// Cached snapshots are shared, so the updated principal gets its own copy
+		UserResponseDTO userResponse = modelMapper.map(current, UserResponseDTO.class);
+		userResponse.setPassword(newPassword);
 		return new UserPrincipal(userResponse);
 	}
 
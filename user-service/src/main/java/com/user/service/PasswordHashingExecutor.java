@@ -0,0 +1,47 @@
+package com.user.service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Runs password hashing (BCrypt encode/match) off the request threads. The pool is sized below the
+// core count so a login burst cannot take every CPU, and the queue is short: once it is full,
+// submissions fail at once with RejectedExecutionException, which the API maps to 503.
+public class PasswordHashingExecutor extends ThreadPoolExecutor {
+
+	private final AtomicLong rejected = new AtomicLong();
+
+	public PasswordHashingExecutor(int threads, int queueCapacity) {
+		super(threads, threads, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+				new NamedThreadFactory());
+		setRejectedExecutionHandler((task, executor) -> {
+			rejected.incrementAndGet();
+			throw new RejectedExecutionException("Password hashing queue is full");
+		});
+	}
+
+	public long getRejectedCount() {
+		return rejected.get();
+	}
+
+	// Half the cores by default, leaving the rest for the endpoints that do not hash
+	public static int defaultThreads() {
+		return Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+	}
+
+	private static class NamedThreadFactory implements ThreadFactory {
+		private final AtomicInteger count = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable task) {
+			Thread thread = new Thread(task, "password-hashing-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+
+}
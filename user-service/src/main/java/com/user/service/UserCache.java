@@ -0,0 +1,91 @@
+package com.user.service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.user.dto.UserResponseDTO;
+import com.user.entity.User;
+import com.user.repository.UserRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+// Read-through cache of users by id, with an email -> id index so both lookups share one entry.
+// Snapshots are DTOs rather than entities so no lazy association escapes the persistence context;
+// they are shared between callers and must be treated as read-only.
+@Component
+public class UserCache {
+
+	private final UserRepository userRepo;
+	private final ModelMapper modelMapper;
+
+	private final Cache<Long, UserResponseDTO> usersById;
+	private final Cache<String, Long> idsByEmail;
+
+	public UserCache(UserRepository userRepo, ModelMapper modelMapper, MeterRegistry meterRegistry,
+			@Value("${user-cache.max-size:10000}") long maxSize, @Value("${user-cache.ttl:10m}") Duration ttl) {
+		this.userRepo = userRepo;
+		this.modelMapper = modelMapper;
+		this.usersById = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).recordStats().build();
+		this.idsByEmail = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).recordStats().build();
+		CaffeineCacheMetrics.monitor(meterRegistry, usersById, "users.by-id");
+		CaffeineCacheMetrics.monitor(meterRegistry, idsByEmail, "users.by-email");
+	}
+
+	public Optional<UserResponseDTO> findById(long userId) {
+		return Optional.ofNullable(usersById.get(userId, id -> userRepo.findById(id).map(this::index).orElse(null)));
+	}
+
+	public Optional<UserResponseDTO> findByEmail(String email) {
+		Long userId = idsByEmail.getIfPresent(email);
+		if (userId != null) {
+			UserResponseDTO user = findById(userId).orElse(null);
+			// The index can outlive an email change; only trust it when the user still has this email
+			if (user != null && email.equals(user.getEmail())) {
+				return Optional.of(user);
+			}
+			idsByEmail.invalidate(email);
+		}
+		Optional<UserResponseDTO> user = userRepo.findByEmail(email).map(this::index);
+		user.ifPresent(found -> usersById.put(found.getUserId(), found));
+		return user;
+	}
+
+	// Drops the entries now and again once the surrounding transaction commits, so a concurrent
+	// read cannot re-cache the pre-update row between the bulk update and the commit
+	public void evict(long userId, String... emails) {
+		evictNow(userId, emails);
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int status) {
+					evictNow(userId, emails);
+				}
+			});
+		}
+	}
+
+	private void evictNow(long userId, String... emails) {
+		usersById.invalidate(userId);
+		for (String email : emails) {
+			if (email != null) {
+				idsByEmail.invalidate(email);
+			}
+		}
+	}
+
+	private UserResponseDTO index(User user) {
+		UserResponseDTO snapshot = modelMapper.map(user, UserResponseDTO.class);
+		idsByEmail.put(snapshot.getEmail(), snapshot.getUserId());
+		return snapshot;
+	}
+
+}
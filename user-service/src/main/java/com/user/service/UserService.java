@@ -1,5 +1,6 @@
 package com.user.service;
 
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Optional;
 
@@ -7,6 +8,7 @@ import com.user.dto.JwtResponseDTO;
 import com.user.dto.RefreshTokenRequestDTO;
 import com.user.dto.UserDTO;
 import com.user.dto.UserLoginDTO;
+import com.user.dto.UserPageDTO;
 import com.user.dto.UserRegisterDTO;
 import com.user.dto.UserResponseDTO;
 import com.user.token.RefreshToken;
@@ -19,7 +21,9 @@ public interface UserService {
 
 	Optional<UserResponseDTO> getUserById(long userId);
 
-	List<UserResponseDTO> getAllUsers();
+	UserPageDTO getUsersPage(Long after, Integer limit, List<String> fields);
+
+	void exportUsers(List<String> fields, OutputStream out);
 
 	void updateUser(long userId, UserDTO userDTO);
 
@@ -1,10 +1,17 @@
 package com.user.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationServiceException;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -18,13 +25,19 @@ import org.springframework.stereotype.Service;
 import com.user.dto.JwtResponseDTO;
 import com.user.dto.UserDTO;
 import com.user.dto.UserLoginDTO;
+import com.user.dto.UserPageDTO;
 import com.user.dto.UserRegisterDTO;
 import com.user.dto.UserResponseDTO;
 import com.user.entity.User;
+import com.user.repository.UserListingRepository;
 import com.user.repository.UserRepository;
 import com.user.token.RefreshToken;
 import com.user.token.service.JWTService;
 import com.user.token.service.RefreshTokenService;
+import com.user.token.service.TokenRevocationService;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 
 import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
@@ -33,6 +46,8 @@ import jakarta.validation.Valid;
 @Transactional
 public class UserServiceImpl implements UserService {
 
+	private static final List<String> DEFAULT_FIELDS = List.of("userId", "email", "firstName", "lastName", "status");
+
 	private final UserRepository userRepo;
 	private final ModelMapper modelMapper;
 	
@@ -44,16 +59,36 @@ public class UserServiceImpl implements UserService {
 
 	@Autowired
 	private BCryptPasswordEncoder passwordEncoder;
+
+	@Autowired
+	private TokenRevocationService tokenRevocationService;
 	
 	@Autowired
 	private RefreshTokenService refreshTokenService;
 
+	@Autowired
+	private UserCache userCache;
+
+	@Autowired
+	private UserListingRepository userListingRepository;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Value("${user-listing.default-page-size:50}")
+	private int defaultPageSize;
+
+	@Value("${user-listing.max-page-size:500}")
+	private int maxPageSize;
+
 	public UserServiceImpl(UserRepository userRepo, ModelMapper modelMapper) {
 		this.userRepo = userRepo;
 		this.modelMapper = modelMapper;
 	}
 
+	// No surrounding transaction: the BCrypt check would otherwise hold a pooled connection while it runs
 	@Override
+	@Transactional(Transactional.TxType.NOT_SUPPORTED)
 	public JwtResponseDTO authenticateUser(@Valid UserLoginDTO userLoginDTO) {
 	    try {
 	    	System.out.println(userLoginDTO.toString());
@@ -115,23 +150,62 @@ public class UserServiceImpl implements UserService {
 	@Override
 	public Optional<UserResponseDTO> getUserById(long userId) {
 		// TODO Auto-generated method stub
-		Optional<User> optionalUser = userRepo.findById(userId);
-		return optionalUser.map(user -> modelMapper.map(user, UserResponseDTO.class));
+		return userCache.findById(userId);
 	}
 
 	@Override
-	public List<UserResponseDTO> getAllUsers() {
-		// TODO Auto-generated method stub
-		List<User> users = userRepo.findAll();
-		return users.stream().map(user -> modelMapper.map(user, UserResponseDTO.class)).toList();
+	public UserPageDTO getUsersPage(Long after, Integer limit, List<String> fields) {
+		List<String> projection = projection(fields);
+		int pageSize = limit == null ? defaultPageSize : Math.min(Math.max(limit, 1), maxPageSize);
+		// One extra row tells us whether there is a next page without a COUNT
+		List<Map<String, Object>> rows = userListingRepository.findPage(after == null ? 0 : after, pageSize + 1,
+				projection);
+		Long nextCursor = null;
+		if (rows.size() > pageSize) {
+			rows = rows.subList(0, pageSize);
+			nextCursor = ((Number) rows.get(pageSize - 1).get("userId")).longValue();
+		}
+		return UserPageDTO.builder().users(rows).nextCursor(nextCursor).build();
+	}
+
+	// Streams one JSON object per line; runs outside a transaction so the cursor gets its own connection
+	@Override
+	@Transactional(Transactional.TxType.NOT_SUPPORTED)
+	public void exportUsers(List<String> fields, OutputStream out) {
+		ObjectWriter writer = objectMapper.writer();
+		userListingRepository.streamAll(projection(fields), row -> {
+			try {
+				out.write(writer.writeValueAsBytes(row));
+				out.write('\n');
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+	}
+
+	// Requested fields in order, always including userId (the cursor); unknown or secret fields are rejected
+	private static List<String> projection(List<String> fields) {
+		if (fields == null || fields.isEmpty()) {
+			return DEFAULT_FIELDS;
+		}
+		Set<String> projection = new LinkedHashSet<>();
+		projection.add("userId");
+		for (String field : fields) {
+			if (!UserListingRepository.isListable(field)) {
+				throw new IllegalArgumentException("Unknown or unlisted field: " + field);
+			}
+			projection.add(field);
+		}
+		return List.copyOf(projection);
 	}
 
 	@Override
 	public void updateUser(long userId, UserDTO userDTO) {
-		boolean checkUser = userRepo.findById(userId).isPresent();
-		if (checkUser) {
+		Optional<UserResponseDTO> existing = userCache.findById(userId);
+		if (existing.isPresent()) {
 			User user = modelMapper.map(userDTO, User.class);
 			userRepo.updateUser(userId, user);
+			userCache.evict(userId, existing.get().getEmail(), user.getEmail());
 		} else {
 			throw new IllegalArgumentException("User with ID " + userId + " not found.");
 		}
@@ -139,14 +213,19 @@ public class UserServiceImpl implements UserService {
 
 	@Override
 	public void deactivateUser(long userId) {
+		Optional<UserResponseDTO> existing = userCache.findById(userId);
 		userRepo.deactivateStatus(userId);
+		userCache.evict(userId);
+		// Refresh tokens are revoked too, or /refresh would keep minting new access tokens
+		refreshTokenService.revokeAllForUser(userId);
+		// Access tokens already issued to the user stop validating at once
+		existing.ifPresent(user -> tokenRevocationService.revokeSubject(user.getEmail()));
 	}
 
 	@Override
 	public Optional<UserResponseDTO> getUserByEmail(String email) {
 		// TODO Auto-generated method stub
-		Optional<User> opUser= userRepo.findByEmail(email);
-		return opUser.map(user -> modelMapper.map(user, UserResponseDTO.class));
+		return userCache.findByEmail(email);
 	}
 
 }
@@ -1,16 +1,23 @@
 package com.user.token;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
+import java.util.HexFormat;
 
 import com.user.entity.User;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -21,16 +28,36 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @Builder
 @Entity
-@Table(name="refresh_token")
+@Table(name = "refresh_token", indexes = { @Index(name = "idx_refresh_token_hash", columnList = "token_hash", unique = true),
+		@Index(name = "idx_refresh_token_expiry", columnList = "expiry_date") })
 public class RefreshToken {
 
 	@Id
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
 	private long id;
+
+	// Only the SHA-256 of the token is stored; a leaked table cannot be replayed
+	// Nullable only so ddl-auto can add the column to a table that still holds pre-hash rows
+	@Column(name = "token_hash", length = 64)
+	private String tokenHash;
+
+	// The raw token, set only on a freshly created instance so it can be handed to the client once
+	@Transient
 	private String token;
+
+	@Column(name = "expiry_date")
 	private Instant expiryDate;
 	private String status = "a";
 	@ManyToOne
 	@JoinColumn(name = "user_id", referencedColumnName = "user_id")
 	private User userInfo;
+
+	public static String hash(String token) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+			return HexFormat.of().formatHex(digest);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 not available", e);
+		}
+	}
 }
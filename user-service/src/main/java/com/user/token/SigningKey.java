@@ -0,0 +1,43 @@
+package com.user.token;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One RS256 key pair of the shared keyring. A key signs new tokens between activeFrom and notAfter
+// and stays published for verification until verifyUntil, so tokens it signed outlive its rotation.
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name = "signing_key")
+public class SigningKey {
+
+	@Id
+	@Column(length = 64)
+	private String kid;
+	private String algorithm;
+
+	// Base64 X.509 SubjectPublicKeyInfo
+	@Lob
+	@Column(nullable = false)
+	private String publicKey;
+
+	// PKCS#8, encrypted by SigningKeyCipher
+	@Lob
+	@Column(nullable = false)
+	private String privateKey;
+
+	private Instant activeFrom;
+	private Instant notAfter;
+	private Instant verifyUntil;
+}
@@ -0,0 +1,65 @@
+package com.user.token;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Encrypts signing private keys for the signing_key table with AES-256-GCM under keyring.encryption-key,
+// which comes from the environment rather than the database. Stored values are Base64 of a random
+// 12-byte IV followed by the ciphertext and tag; the kid is authenticated with it, so a value copied
+// onto another row does not decrypt.
+@Component
+public class SigningKeyCipher {
+
+	private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+	private static final int IV_LENGTH = 12;
+	private static final int TAG_BITS = 128;
+
+	private final SecretKeySpec key;
+	private final SecureRandom random = new SecureRandom();
+
+	public SigningKeyCipher(@Value("${keyring.encryption-key}") String encodedKey) {
+		byte[] keyBytes = Base64.getDecoder().decode(encodedKey.trim());
+		if (keyBytes.length != 32) {
+			throw new IllegalStateException("keyring.encryption-key must be a Base64 256-bit AES key");
+		}
+		this.key = new SecretKeySpec(keyBytes, "AES");
+	}
+
+	public String encrypt(String kid, byte[] plaintext) {
+		byte[] iv = new byte[IV_LENGTH];
+		random.nextBytes(iv);
+		try {
+			Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+			cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, iv));
+			cipher.updateAAD(kid.getBytes(StandardCharsets.UTF_8));
+			byte[] ciphertext = cipher.doFinal(plaintext);
+			return Base64.getEncoder()
+					.encodeToString(ByteBuffer.allocate(iv.length + ciphertext.length).put(iv).put(ciphertext).array());
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException("Unable to encrypt signing key " + kid, e);
+		}
+	}
+
+	// Fails if the value was written under another key, for another kid, or altered
+	public byte[] decrypt(String kid, String stored) throws GeneralSecurityException {
+		byte[] bytes = Base64.getDecoder().decode(stored);
+		if (bytes.length <= IV_LENGTH) {
+			throw new GeneralSecurityException("Encrypted signing key is too short");
+		}
+		Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+		cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, bytes, 0, IV_LENGTH));
+		cipher.updateAAD(kid.getBytes(StandardCharsets.UTF_8));
+		return cipher.doFinal(bytes, IV_LENGTH, bytes.length - IV_LENGTH);
+	}
+
+}
@@ -0,0 +1,42 @@
+package com.user.token;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One access-token revocation, appended by the replica that revoked it and tailed by every replica.
+// The key is "jti:<token id>" for a single token or "sub:<subject>" for every token of a subject issued
+// before revokedAt. A row is only needed until the tokens it covers have expired.
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name = "token_revocation", indexes = {
+		@Index(name = "idx_token_revocation_revoked_at", columnList = "revoked_at"),
+		@Index(name = "idx_token_revocation_expires_at", columnList = "expires_at") })
+public class TokenRevocation {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private long id;
+
+	@Column(name = "revocation_key", length = 320, nullable = false)
+	private String revocationKey;
+
+	@Column(name = "revoked_at", nullable = false)
+	private Instant revokedAt;
+
+	@Column(name = "expires_at", nullable = false)
+	private Instant expiresAt;
+}
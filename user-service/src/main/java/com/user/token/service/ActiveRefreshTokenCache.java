@@ -0,0 +1,70 @@
+package com.user.token.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+// Active refresh tokens by token hash. Each entry expires with its token, so a hit is always a token
+// that was active and unexpired when cached; rotation, logout and deactivation invalidate entries explicitly.
+@Component
+public class ActiveRefreshTokenCache {
+
+	private final Cache<String, ActiveToken> tokens;
+
+	public ActiveRefreshTokenCache(MeterRegistry meterRegistry,
+			@Value("${refresh-token.cache.max-size:100000}") long maxSize) {
+		this.tokens = Caffeine.newBuilder().maximumSize(maxSize).expireAfter(new TokenExpiry()).recordStats().build();
+		CaffeineCacheMetrics.monitor(meterRegistry, tokens, "refresh-tokens.active");
+	}
+
+	// The loader returns null for unknown, inactive or expired tokens; those are not cached
+	public Optional<ActiveToken> get(String tokenHash, Function<String, ActiveToken> loader) {
+		return Optional.ofNullable(tokens.get(tokenHash, loader));
+	}
+
+	public void put(String tokenHash, ActiveToken token) {
+		tokens.put(tokenHash, token);
+	}
+
+	public void invalidate(String tokenHash) {
+		tokens.invalidate(tokenHash);
+	}
+
+	// A scan over the cache; only used when a user is deactivated, which is rare
+	public void invalidateUser(long userId) {
+		tokens.asMap().values().removeIf(token -> token.userId() == userId);
+	}
+
+	public record ActiveToken(long userId, String email, Instant expiryDate) {
+	}
+
+	private static class TokenExpiry implements Expiry<String, ActiveToken> {
+
+		@Override
+		public long expireAfterCreate(String key, ActiveToken value, long currentTime) {
+			return Math.max(0, Duration.between(Instant.now(), value.expiryDate()).toNanos());
+		}
+
+		@Override
+		public long expireAfterUpdate(String key, ActiveToken value, long currentTime, long currentDuration) {
+			return expireAfterCreate(key, value, currentTime);
+		}
+
+		@Override
+		public long expireAfterRead(String key, ActiveToken value, long currentTime, long currentDuration) {
+			return currentDuration;
+		}
+	}
+
+}
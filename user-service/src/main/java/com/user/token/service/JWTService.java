@@ -1,92 +1,93 @@
 package com.user.token.service;
 
-import java.security.NoSuchAlgorithmException;
-import java.util.Base64;
+import java.security.Key;
+import java.security.PublicKey;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
-
-import javax.crypto.KeyGenerator;
-import javax.crypto.SecretKey;
+import java.util.UUID;
 
 import org.springframework.stereotype.Service;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwsHeader;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.LocatorAdapter;
 
 @Service
 public class JWTService {
 
-	// secret key for token generation and token validation
-	private static String secretKey;
-
-	public JWTService() throws NoSuchAlgorithmException {
-		KeyGenerator kgen = KeyGenerator.getInstance("HmacSHA256");
-		SecretKey sk = kgen.generateKey();
-		secretKey = Base64.getEncoder().encodeToString(sk.getEncoded());
+	// Access token lifetime; revocations only have to be kept this long
+	public static final long ACCESS_TOKEN_TTL_MS = 60 * 60 * 90;
+
+	private final KeyRingService keyRing;
+	private final TokenRevocationService revocations;
+
+	// built once; the parser is immutable and thread-safe and finds the verification key by kid
+	private final JwtParser parser;
+
+	public JWTService(KeyRingService keyRing, TokenRevocationService revocations) {
+		this.keyRing = keyRing;
+		this.revocations = revocations;
+		this.parser = Jwts.parser().keyLocator(new LocatorAdapter<Key>() {
+			@Override
+			protected Key locate(JwsHeader header) {
+				PublicKey key = keyRing.verificationKey(header.getKeyId());
+				if (key == null) {
+					throw new JwtException("Unknown signing key");
+				}
+				return key;
+			}
+		}).build();
 	}
-	
+
 	// token generation process
 	public String generateToken(String username) {
 
 		// create map<string and object> of claims
 
 		Map<String, Object> claims = new HashMap<>();
+		KeyRingService.ActiveKey signingKey = keyRing.signingKey();
 
-		return Jwts.builder().claims().add(claims).subject(username).issuedAt(new Date(System.currentTimeMillis()))
-				.expiration(new Date(System.currentTimeMillis() + 60 * 60 * 90)).and().signWith(getKey()).compact();
+		// jti identifies the token for revocation
+		return Jwts.builder().header().keyId(signingKey.kid()).and().claims().add(claims).subject(username)
+				.id(UUID.randomUUID().toString()).issuedAt(new Date(System.currentTimeMillis()))
+				.expiration(new Date(System.currentTimeMillis() + ACCESS_TOKEN_TTL_MS)).and()
+				.signWith(signingKey.privateKey(), Jwts.SIG.RS256).compact();
 
 	}
 
-	private SecretKey getKey() {
-		// TODO Auto-generated method stub
-		byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-		return Keys.hmacShaKeyFor(keyBytes);
-	}
-
-    // token validation process
-	// check expiry of the token 
-	private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-	
-	public Claims validateToken(String token) {
+	// token validation process
+	// verifies the signature and expiry in a single parse, then checks the in-memory revocations
+	public ValidatedToken validateToken(String token) {
+		Claims claims;
 		try {
-			final String username = extractUsername(token);
-
-			Claims claims = Jwts.parser().verifyWith(getKey()).build().parseSignedClaims(token).getPayload();
-
-			return claims;
-
+			claims = parser.parseSignedClaims(token).getPayload();
 		} catch (ExpiredJwtException e) {
 			throw new JwtException("Token has expired");
 		} catch (Exception e) {
 			throw new JwtException("Invalid token");
 		}
+		ValidatedToken validated = ValidatedToken.of(claims);
+		if (revocations.isRevoked(validated.jti(), validated.subject(), validated.issuedAt())) {
+			throw new JwtException("Token has been revoked");
+		}
+		return validated;
 	}
 
-	private String extractUsername(String token) {
-		// TODO Auto-generated method stub
-		return extractClaim(token, Claims::getSubject);
-	}
-	
-	private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
-
-	private <T> T extractClaim(String token, Function<Claims, T> claimResolver) {
-		final Claims claims = extractAllClaims(token);
-		return claimResolver.apply(claims);
-	}
+	public record ValidatedToken(String jti, String subject, Date issuedAt, Date expiration, List<String> roles,
+			Claims claims) {
 
-	private Claims extractAllClaims(String token) {
-		// TODO Auto-generated method stub
-		return Jwts.parser().verifyWith(getKey()).build().parseSignedClaims(token).getPayload();
+		@SuppressWarnings("unchecked")
+		static ValidatedToken of(Claims claims) {
+			List<String> roles = claims.get("roles", List.class);
+			return new ValidatedToken(claims.getId(), claims.getSubject(), claims.getIssuedAt(),
+					claims.getExpiration(), roles != null ? roles : List.of(), claims);
+		}
 	}
 
 }
@@ -0,0 +1,20 @@
+package com.user.token.service;
+
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.util.Map;
+
+public interface KeyRingService {
+
+	// Key that new tokens are signed with
+	ActiveKey signingKey();
+
+	// Public key for a token's kid, or null if the kid is unknown or no longer trusted
+	PublicKey verificationKey(String kid);
+
+	// JWKS document of every key that may still verify a token
+	Map<String, Object> jwks();
+
+	record ActiveKey(String kid, PrivateKey privateKey) {
+	}
+}
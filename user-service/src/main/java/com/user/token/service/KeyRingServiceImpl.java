@@ -0,0 +1,208 @@
+package com.user.token.service;
+
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.user.repository.SigningKeyRepository;
+import com.user.token.SigningKey;
+import com.user.token.SigningKeyCipher;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Keyring shared by all user-service replicas through the signing_key table. Each replica reloads it
+// on a schedule and rotates when the newest key is about to stop signing, so the next key is
+// published ahead of use and retired keys keep verifying for the overlap window. Private keys are
+// stored encrypted, see SigningKeyCipher.
+@Service
+@Slf4j
+public class KeyRingServiceImpl implements KeyRingService {
+
+	private static final String ALGORITHM = "RS256";
+	private static final int KEY_SIZE = 2048;
+
+	private final SigningKeyRepository signingKeyRepository;
+	private final SigningKeyCipher cipher;
+	private final Duration rotationInterval;
+	private final Duration overlap;
+	private final Duration publishAhead;
+	private final long minReloadIntervalNanos;
+
+	private volatile Snapshot snapshot = new Snapshot(Map.of(), Map.of("keys", List.of()));
+	private volatile long lastReloadNanos;
+
+	public KeyRingServiceImpl(SigningKeyRepository signingKeyRepository, SigningKeyCipher cipher,
+			@Value("${keyring.rotation-interval:24h}") Duration rotationInterval,
+			@Value("${keyring.overlap:1h}") Duration overlap,
+			@Value("${keyring.publish-ahead:10m}") Duration publishAhead,
+			@Value("${keyring.min-reload-interval:5s}") Duration minReloadInterval) {
+		this.signingKeyRepository = signingKeyRepository;
+		this.cipher = cipher;
+		this.rotationInterval = rotationInterval;
+		this.overlap = overlap;
+		this.publishAhead = publishAhead;
+		this.minReloadIntervalNanos = minReloadInterval.toNanos();
+		this.lastReloadNanos = System.nanoTime() - minReloadIntervalNanos;
+	}
+
+	@Override
+	public ActiveKey signingKey() {
+		Instant now = Instant.now();
+		LoadedKey key = snapshot.signingKeyAt(now);
+		if (key == null) {
+			rotate();
+			key = snapshot.signingKeyAt(now);
+		}
+		if (key == null) {
+			throw new IllegalStateException("No signing key is active");
+		}
+		return new ActiveKey(key.kid(), key.privateKey());
+	}
+
+	@Override
+	public PublicKey verificationKey(String kid) {
+		if (kid == null) {
+			return null;
+		}
+		LoadedKey key = snapshot.keys().get(kid);
+		if (key == null) {
+			// Another replica may have published a key we have not loaded yet
+			reloadIfStale();
+			key = snapshot.keys().get(kid);
+		}
+		return key != null && key.verifyUntil().isAfter(Instant.now()) ? key.publicKey() : null;
+	}
+
+	@Override
+	public Map<String, Object> jwks() {
+		return snapshot.jwks();
+	}
+
+	// Runs on every replica; two replicas rotating at once only add two published keys, both valid
+	@Scheduled(fixedDelayString = "${keyring.refresh-interval-ms:60000}")
+	public synchronized void rotate() {
+		Instant now = Instant.now();
+		reload();
+		Instant latestNotAfter = snapshot.keys().values().stream().map(LoadedKey::notAfter)
+				.max(Comparator.naturalOrder()).orElse(null);
+		if (latestNotAfter == null || latestNotAfter.isBefore(now.plus(publishAhead))) {
+			Instant activeFrom = latestNotAfter == null || latestNotAfter.isBefore(now) ? now : latestNotAfter;
+			SigningKey created = signingKeyRepository.save(generate(activeFrom));
+			log.info("Created signing key {} active from {} until {}", created.getKid(), created.getActiveFrom(),
+					created.getNotAfter());
+			reload();
+		}
+		int purged = signingKeyRepository.deleteExpired(now);
+		if (purged > 0) {
+			log.info("Purged {} expired signing keys", purged);
+		}
+	}
+
+	private synchronized void reloadIfStale() {
+		if (System.nanoTime() - lastReloadNanos >= minReloadIntervalNanos) {
+			reload();
+		}
+	}
+
+	// A row that does not decrypt, such as one written before encryption or under another key, is skipped;
+	// rotation then publishes a fresh key and the row is purged once it expires
+	private synchronized void reload() {
+		Map<String, LoadedKey> keys = new HashMap<>();
+		for (SigningKey row : signingKeyRepository.findByVerifyUntilAfter(Instant.now())) {
+			try {
+				keys.put(row.getKid(), LoadedKey.of(row, cipher));
+			} catch (GeneralSecurityException | IllegalArgumentException e) {
+				log.warn("Skipping unreadable signing key {}: {}", row.getKid(), e.getMessage());
+			}
+		}
+		snapshot = new Snapshot(Map.copyOf(keys), jwksOf(keys));
+		lastReloadNanos = System.nanoTime();
+	}
+
+	private SigningKey generate(Instant activeFrom) {
+		KeyPair keyPair;
+		try {
+			KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+			generator.initialize(KEY_SIZE);
+			keyPair = generator.generateKeyPair();
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException("Unable to generate signing key", e);
+		}
+		Instant notAfter = activeFrom.plus(rotationInterval);
+		String kid = UUID.randomUUID().toString();
+		return SigningKey.builder().kid(kid).algorithm(ALGORITHM)
+				.publicKey(Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()))
+				.privateKey(cipher.encrypt(kid, keyPair.getPrivate().getEncoded())).activeFrom(activeFrom)
+				.notAfter(notAfter).verifyUntil(notAfter.plus(overlap)).build();
+	}
+
+	private static Map<String, Object> jwksOf(Map<String, LoadedKey> keys) {
+		List<Map<String, Object>> jwks = keys.values().stream()
+				.sorted(Comparator.comparing(LoadedKey::activeFrom).reversed()).map(key -> {
+					Map<String, Object> jwk = new LinkedHashMap<>();
+					jwk.put("kty", "RSA");
+					jwk.put("kid", key.kid());
+					jwk.put("use", "sig");
+					jwk.put("alg", ALGORITHM);
+					jwk.put("n", base64Url(key.publicKey().getModulus()));
+					jwk.put("e", base64Url(key.publicKey().getPublicExponent()));
+					return Map.copyOf(jwk);
+				}).toList();
+		return Map.of("keys", jwks);
+	}
+
+	// JWK integers are unsigned big-endian, without the sign byte BigInteger may add
+	private static String base64Url(BigInteger value) {
+		byte[] bytes = value.toByteArray();
+		if (bytes.length > 1 && bytes[0] == 0) {
+			bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+		}
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+	}
+
+	private record LoadedKey(String kid, RSAPublicKey publicKey, PrivateKey privateKey, Instant activeFrom,
+			Instant notAfter, Instant verifyUntil) {
+
+		static LoadedKey of(SigningKey row, SigningKeyCipher cipher) throws GeneralSecurityException {
+			KeyFactory factory = KeyFactory.getInstance("RSA");
+			RSAPublicKey publicKey = (RSAPublicKey) factory
+					.generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(row.getPublicKey())));
+			PrivateKey privateKey = factory
+					.generatePrivate(new PKCS8EncodedKeySpec(cipher.decrypt(row.getKid(), row.getPrivateKey())));
+			return new LoadedKey(row.getKid(), publicKey, privateKey, row.getActiveFrom(), row.getNotAfter(),
+					row.getVerifyUntil());
+		}
+	}
+
+	private record Snapshot(Map<String, LoadedKey> keys, Map<String, Object> jwks) {
+
+		// Newest key whose signing window contains now
+		LoadedKey signingKeyAt(Instant now) {
+			return keys.values().stream()
+					.filter(key -> !key.activeFrom().isAfter(now) && key.notAfter().isAfter(now))
+					.max(Comparator.comparing(LoadedKey::activeFrom)).orElse(null);
+		}
+	}
+
+}
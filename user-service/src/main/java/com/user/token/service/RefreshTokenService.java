@@ -17,4 +17,6 @@ public interface RefreshTokenService {
 	JwtResponseDTO getNewTokens(RefreshTokenRequestDTO refreshToken);
 
 	void updateById(RefreshTokenRequestDTO refreshToken);
+
+	void revokeAllForUser(long userId);
 }
@@ -1,17 +1,23 @@
 package com.user.token.service;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.user.dto.JwtResponseDTO;
 import com.user.dto.RefreshTokenRequestDTO;
+import com.user.dto.UserResponseDTO;
 import com.user.repository.RefreshTokenRepository;
 import com.user.repository.UserRepository;
+import com.user.service.UserCache;
 import com.user.token.RefreshToken;
+import com.user.token.service.ActiveRefreshTokenCache.ActiveToken;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -28,62 +34,87 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
 	@Autowired
 	UserRepository userRepository;
 
+	@Autowired
+	private UserCache userCache;
+
+	@Autowired
+	private ActiveRefreshTokenCache activeTokens;
+
+	@Value("${refresh-token.ttl:10m}")
+	private Duration refreshTokenTtl;
+
 	public RefreshToken createRefreshToken(String username) {
-		RefreshToken refreshToken = RefreshToken.builder().userInfo(userRepository.findByEmail(username).get())
-				.token(UUID.randomUUID().toString()).expiryDate(Instant.now().plusMillis(600000)).status("a").build();
-		return refreshTokenRepository.save(refreshToken);
+		// The login has just loaded this user through the cache
+		UserResponseDTO user = userCache.findByEmail(username).get();
+		return issue(user.getUserId(), user.getEmail());
+	}
+
+	// A single insert: the user is attached as a reference proxy, so nothing is read
+	private RefreshToken issue(long userId, String email) {
+		String token = UUID.randomUUID().toString();
+		RefreshToken refreshToken = RefreshToken.builder().userInfo(userRepository.getReferenceById(userId))
+				.tokenHash(RefreshToken.hash(token)).token(token).expiryDate(Instant.now().plus(refreshTokenTtl))
+				.status("a").build();
+		refreshToken = refreshTokenRepository.save(refreshToken);
+		activeTokens.put(refreshToken.getTokenHash(), new ActiveToken(userId, email, refreshToken.getExpiryDate()));
+		return refreshToken;
 	}
 
 	public Optional<RefreshToken> findByToken(String token) {
-		return refreshTokenRepository.findByToken(token);
+		return refreshTokenRepository.findByTokenHash(RefreshToken.hash(token));
 	}
 
 	public RefreshToken verifyExpiration(RefreshToken token) {
 		if (token.getExpiryDate().compareTo(Instant.now()) < 0) {
 			refreshTokenRepository.delete(token);
-			throw new RuntimeException(token.getToken() + " Refresh token is expired. Please make a new login..!");
+			activeTokens.invalidate(token.getTokenHash());
+			throw new RuntimeException("Refresh token is expired. Please make a new login..!");
 		}
 		return token;
 	}
 
+	// Rotation is one conditional UPDATE plus one INSERT in a single transaction; the token's owner comes
+	// from the active-token cache, so a cached token needs no read at all
 	@Override
+	@Transactional
 	public JwtResponseDTO getNewTokens(RefreshTokenRequestDTO refreshTokenRequest) {
-		// Debug: Print the incoming refresh token request
-		log.info("Received refresh token request: {}", refreshTokenRequest.getRefreshToken());
+		String tokenHash = RefreshToken.hash(refreshTokenRequest.getRefreshToken());
 
-		// Fetch the refresh token from the database
-		Optional<RefreshToken> existingtokenInfo = refreshTokenRepository.findByToken(refreshTokenRequest.getRefreshToken());
+		// Active tokens are served from memory; only unknown ones fall through to the database
+		Optional<ActiveToken> existingtokenInfo = activeTokens.get(tokenHash, this::loadActiveToken);
 
-		// Validate if the token exists
+		// Validate if the token exists and is still active
 		if (existingtokenInfo.isEmpty()) {
 			log.error("Invalid refresh token: Token not found in database.");
 			throw new RuntimeException("Invalid refresh token: Token not found.");
 		}
 
 		// Validate if the refresh token is expired
-		if (existingtokenInfo.get().getExpiryDate().isBefore(Instant.now()) || existingtokenInfo.get().getStatus().equalsIgnoreCase("i")) {
-			log.warn("Invalid refresh token: Token has expired. Token: {}", refreshTokenRequest.getRefreshToken());
+		if (existingtokenInfo.get().expiryDate().isBefore(Instant.now())) {
+			log.warn("Invalid refresh token: Token has expired.");
 			throw new RuntimeException("Invalid refresh token: Token has expired.");
 		}
 
 		// Retrieve the user's email from the refresh token
-		String email = existingtokenInfo.get().getUserInfo().getEmail();
+		String email = existingtokenInfo.get().email();
 		log.info("Refresh token is valid. Associated email: {}", email);
-		System.out.println("Extracted email from refresh token: " + email);
-
-		// Rotate the refresh token (invalidate old one and create a new one)
-		log.info("Fetching new Token info using: {}, {}", existingtokenInfo.get().getUserInfo().getUserId(),
-				refreshTokenRequest.getRefreshToken());
 
-		Optional<RefreshToken> newToken = Optional.of(createRefreshToken(email));
-
-		if (newToken.isPresent()) {
-			updateById(refreshTokenRequest);
-		} else {
-			throw new RuntimeException("Cannot Create Token!");
+		// Rotate the refresh token: only the request that invalidates the old one may create a new one
+		int rotated = refreshTokenRepository.invalidateIfActive(tokenHash, Instant.now());
+		activeTokens.invalidate(tokenHash);
+		if (rotated == 0) {
+			log.warn("Refresh token was already rotated or expired for email: {}", email);
+			throw new RuntimeException("Invalid refresh token: Token has already been used.");
+		}
+		// Checked after the rotation so a deactivation racing this refresh cannot be missed
+		long userId = existingtokenInfo.get().userId();
+		if (!userCache.findById(userId).map(user -> "active".equalsIgnoreCase(user.getStatus())).orElse(false)) {
+			log.warn("Refresh refused for inactive user: {}", email);
+			throw new RuntimeException("Invalid refresh token: User is not active.");
 		}
+		RefreshToken newToken = issue(userId, email);
 
-		log.info("Updated to new refresh token {}", newToken.get().getId());
+		log.info("Updated to new refresh token {}", newToken.getId());
 
 		// Generate a new access token
 		String newAccessToken = jwtService.generateToken(email);
@@ -91,11 +122,29 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
 		log.info("Successfully processed refresh token request for email: {}", email);
 
 		// Return the new access token and refresh token in the response
-		return JwtResponseDTO.builder().accessToken(newAccessToken).refreshToken(newToken.get().getToken()).build();
+		return JwtResponseDTO.builder().accessToken(newAccessToken).refreshToken(newToken.getToken()).build();
 	}
 
 	public void updateById(RefreshTokenRequestDTO refreshTokenRequestDTO) {
-		refreshTokenRepository.updateById(refreshTokenRequestDTO.getRefreshToken());
+		String tokenHash = RefreshToken.hash(refreshTokenRequestDTO.getRefreshToken());
+		refreshTokenRepository.updateById(tokenHash);
+		activeTokens.invalidate(tokenHash);
+	}
+
+	// Every refresh token the user holds stops working, on this replica's cache and in the database
+	@Override
+	public void revokeAllForUser(long userId) {
+		int revoked = refreshTokenRepository.invalidateAllForUser(userId);
+		activeTokens.invalidateUser(userId);
+		log.info("Revoked {} refresh tokens of user {}", revoked, userId);
+	}
+
+	private ActiveToken loadActiveToken(String tokenHash) {
+		return refreshTokenRepository.findByTokenHash(tokenHash)
+				.filter(token -> "a".equalsIgnoreCase(token.getStatus()) && token.getExpiryDate().isAfter(Instant.now()))
+				.map(token -> new ActiveToken(token.getUserInfo().getUserId(), token.getUserInfo().getEmail(),
+						token.getExpiryDate()))
+				.orElse(null);
 	}
 
 }
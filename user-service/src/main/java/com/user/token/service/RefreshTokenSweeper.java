@@ -0,0 +1,62 @@
+package com.user.token.service;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.user.repository.RefreshTokenRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+// Deletes expired and rotated refresh tokens in bounded chunks, each in its own short transaction,
+// so the table stays proportional to the number of live sessions.
+@Component
+@Slf4j
+public class RefreshTokenSweeper {
+
+	private final RefreshTokenRepository refreshTokenRepository;
+	private final int batchSize;
+	private final int maxBatches;
+
+	private final AtomicLong tableRows = new AtomicLong();
+	private final Counter swept;
+	private final Timer sweepTimer;
+
+	public RefreshTokenSweeper(RefreshTokenRepository refreshTokenRepository, MeterRegistry meterRegistry,
+			@Value("${refresh-token.sweep.batch-size:1000}") int batchSize,
+			@Value("${refresh-token.sweep.max-batches:100}") int maxBatches) {
+		this.refreshTokenRepository = refreshTokenRepository;
+		this.batchSize = batchSize;
+		this.maxBatches = maxBatches;
+		this.swept = meterRegistry.counter("refresh_tokens.swept");
+		this.sweepTimer = meterRegistry.timer("refresh_tokens.sweep");
+		meterRegistry.gauge("refresh_tokens.rows", tableRows);
+	}
+
+	@Scheduled(fixedDelayString = "${refresh-token.sweep.interval-ms:60000}")
+	public void sweep() {
+		sweepTimer.record(() -> {
+			Instant now = Instant.now();
+			int total = 0;
+			for (int batch = 0; batch < maxBatches; batch++) {
+				int deleted = refreshTokenRepository.deleteExpiredBatch(now, batchSize);
+				total += deleted;
+				if (deleted < batchSize) {
+					break;
+				}
+			}
+			swept.increment(total);
+			tableRows.set(refreshTokenRepository.count());
+			if (total > 0) {
+				log.info("Swept {} expired or inactive refresh tokens", total);
+			}
+		});
+	}
+
+}
@@ -0,0 +1,89 @@
+package com.user.token.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Bloom filter over revocation keys. A negative answer is exact, so the common case of a token that
+// was never revoked costs a few bit reads; a positive answer has to be confirmed against the exact set.
+// Bits cannot be cleared, so expired keys are dropped by building a new filter from the live entries.
+class RevocationFilter {
+
+	private final AtomicLongArray words;
+	private final long bits;
+	private final int hashes;
+	private final AtomicInteger entries = new AtomicInteger();
+
+	private RevocationFilter(long bits, int hashes) {
+		this.words = new AtomicLongArray((int) ((bits + 63) / 64));
+		this.bits = (long) words.length() * 64;
+		this.hashes = hashes;
+	}
+
+	// Sized with the usual formulas: m = -n ln p / (ln 2)^2 bits and k = m/n ln 2 hash functions
+	static RevocationFilter create(long expectedEntries, double falsePositiveRate) {
+		long n = Math.max(1, expectedEntries);
+		long m = Math.max(64, (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2))));
+		int k = Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
+		return new RevocationFilter(m, k);
+	}
+
+	void add(String key) {
+		long hash = hash(key);
+		int h1 = (int) hash;
+		int h2 = (int) (hash >>> 32);
+		for (int i = 1; i <= hashes; i++) {
+			long bit = index(h1 + i * h2);
+			long mask = 1L << bit;
+			int word = (int) (bit >>> 6);
+			long current;
+			do {
+				current = words.get(word);
+			} while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask));
+		}
+		entries.incrementAndGet();
+	}
+
+	boolean mightContain(String key) {
+		long hash = hash(key);
+		int h1 = (int) hash;
+		int h2 = (int) (hash >>> 32);
+		for (int i = 1; i <= hashes; i++) {
+			long bit = index(h1 + i * h2);
+			if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	// The false-positive rate the filter has at its current fill
+	double expectedFalsePositiveRate() {
+		return Math.pow(1 - Math.exp(-(double) hashes * entries.get() / bits), hashes);
+	}
+
+	long sizeInBytes() {
+		return (long) words.length() * Long.BYTES;
+	}
+
+	private long index(int combined) {
+		return (combined & Integer.MAX_VALUE) % bits;
+	}
+
+	// 64-bit FNV-1a over the UTF-8 bytes, finished with the MurmurHash3 mixer; the halves give the two
+	// hashes that the k probes are derived from
+	private static long hash(String key) {
+		long h = 0xcbf29ce484222325L;
+		for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+			h ^= b;
+			h *= 0x100000001b3L;
+		}
+		h ^= h >>> 33;
+		h *= 0xff51afd7ed558ccdL;
+		h ^= h >>> 33;
+		h *= 0xc4ceb9fe1a85ec53L;
+		h ^= h >>> 33;
+		return h;
+	}
+
+}
@@ -0,0 +1,155 @@
+package com.user.token.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.user.repository.TokenRevocationRepository;
+import com.user.token.TokenRevocation;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+
+// Revoked access tokens, checked on every validation without touching the database. Revocations are
+// appended to the token_revocation table, which every replica tails on a schedule, and held in memory as
+// an exact map of key -> revocation behind a Bloom filter. Both are pruned once the tokens a revocation
+// covers have expired, so memory follows the number of revocations within one token lifetime.
+@Service
+@Slf4j
+public class TokenRevocationService {
+
+	private static final String JTI_PREFIX = "jti:";
+	private static final String SUBJECT_PREFIX = "sub:";
+
+	private final TokenRevocationRepository revocationRepository;
+	private final long expectedEntries;
+	private final double falsePositiveRate;
+	private final Duration pollOverlap;
+
+	private final Map<String, Revocation> revocations = new ConcurrentHashMap<>();
+	// Replaced under the lock on prune; adds take the same lock so none is lost in the swap
+	private volatile RevocationFilter filter;
+	private final Object writeLock = new Object();
+	private volatile Instant lastPoll = Instant.EPOCH;
+
+	private final Counter absent;
+	private final Counter falsePositive;
+	private final Counter revoked;
+
+	public TokenRevocationService(TokenRevocationRepository revocationRepository, MeterRegistry meterRegistry,
+			@Value("${token-revocation.expected-entries:100000}") long expectedEntries,
+			@Value("${token-revocation.false-positive-rate:0.001}") double falsePositiveRate,
+			@Value("${token-revocation.poll-overlap:10s}") Duration pollOverlap) {
+		this.revocationRepository = revocationRepository;
+		this.expectedEntries = expectedEntries;
+		this.falsePositiveRate = falsePositiveRate;
+		this.pollOverlap = pollOverlap;
+		this.filter = RevocationFilter.create(expectedEntries, falsePositiveRate);
+
+		this.absent = meterRegistry.counter("token.revocation.checks", "result", "absent");
+		this.falsePositive = meterRegistry.counter("token.revocation.checks", "result", "false_positive");
+		this.revoked = meterRegistry.counter("token.revocation.checks", "result", "revoked");
+		meterRegistry.gaugeMapSize("token.revocation.entries", Tags.empty(), revocations);
+		meterRegistry.gauge("token.revocation.filter.bytes", this, service -> service.filter.sizeInBytes());
+		meterRegistry.gauge("token.revocation.filter.expected_fpp", this,
+				service -> service.filter.expectedFalsePositiveRate());
+	}
+
+	// Revokes one token until it expires; tokens issued before jti was added can only be revoked by subject
+	public void revokeToken(String jti, Instant expiresAt) {
+		if (jti != null && expiresAt.isAfter(Instant.now())) {
+			record(JTI_PREFIX + jti, expiresAt);
+		}
+	}
+
+	// Revokes every token of the subject issued so far; later logins are not affected
+	public void revokeSubject(String subject) {
+		record(SUBJECT_PREFIX + subject, Instant.now().plusMillis(JWTService.ACCESS_TOKEN_TTL_MS));
+	}
+
+	public boolean isRevoked(String jti, String subject, Date issuedAt) {
+		RevocationFilter current = filter;
+		boolean jtiHit = jti != null && current.mightContain(JTI_PREFIX + jti);
+		boolean subjectHit = subject != null && current.mightContain(SUBJECT_PREFIX + subject);
+		if (!jtiHit && !subjectHit) {
+			absent.increment();
+			return false;
+		}
+		Instant now = Instant.now();
+		Revocation byJti = jtiHit ? revocations.get(JTI_PREFIX + jti) : null;
+		Revocation bySubject = subjectHit ? revocations.get(SUBJECT_PREFIX + subject) : null;
+		// iat has second precision, so a token issued in the same second as the revocation counts as revoked
+		boolean hit = (byJti != null && byJti.expiresAt().isAfter(now))
+				|| (bySubject != null && bySubject.expiresAt().isAfter(now)
+						&& (issuedAt == null || !issuedAt.toInstant().isAfter(bySubject.revokedAt())));
+		(hit ? revoked : falsePositive).increment();
+		return hit;
+	}
+
+	// The rows behind the gateway's revocation feed
+	public List<TokenRevocation> revokedSince(Instant since) {
+		return revocationRepository.findByRevokedAtAfterAndExpiresAtAfter(since, Instant.now());
+	}
+
+	// Tails the revocation table. Rows are stamped with the writer's clock and may commit late, so each poll
+	// re-reads an overlap window; applying a revocation twice is harmless.
+	@Scheduled(fixedDelayString = "${token-revocation.poll-interval-ms:2000}")
+	public void poll() {
+		Instant now = Instant.now();
+		Instant since = lastPoll.equals(Instant.EPOCH) ? Instant.EPOCH : lastPoll.minus(pollOverlap);
+		List<TokenRevocation> rows = revocationRepository.findByRevokedAtAfterAndExpiresAtAfter(since, now);
+		for (TokenRevocation row : rows) {
+			apply(row.getRevocationKey(), new Revocation(row.getRevokedAt(), row.getExpiresAt()));
+		}
+		lastPoll = now;
+	}
+
+	// Drops expired revocations, rebuilds the filter from the rest and deletes the expired rows
+	@Scheduled(fixedDelayString = "${token-revocation.prune-interval-ms:60000}")
+	public void prune() {
+		Instant now = Instant.now();
+		synchronized (writeLock) {
+			revocations.values().removeIf(revocation -> !revocation.expiresAt().isAfter(now));
+			RevocationFilter rebuilt = RevocationFilter.create(Math.max(expectedEntries, 2L * revocations.size()),
+					falsePositiveRate);
+			revocations.keySet().forEach(rebuilt::add);
+			filter = rebuilt;
+		}
+		int deleted = revocationRepository.deleteExpired(now);
+		if (deleted > 0) {
+			log.info("Pruned {} expired token revocations", deleted);
+		}
+	}
+
+	private void record(String key, Instant expiresAt) {
+		TokenRevocation row = revocationRepository.save(
+				TokenRevocation.builder().revocationKey(key).revokedAt(Instant.now()).expiresAt(expiresAt).build());
+		// Applied here as well so this replica rejects the token at once, before its next poll
+		apply(key, new Revocation(row.getRevokedAt(), row.getExpiresAt()));
+	}
+
+	private void apply(String key, Revocation revocation) {
+		synchronized (writeLock) {
+			// Polls re-read an overlap window, so most keys arriving here are already known
+			if (!revocations.containsKey(key)) {
+				filter.add(key);
+			}
+			// A later subject revocation moves the cutoff forward; it never moves back
+			revocations.merge(key, revocation,
+					(existing, update) -> update.revokedAt().isAfter(existing.revokedAt()) ? update : existing);
+		}
+	}
+
+	private record Revocation(Instant revokedAt, Instant expiresAt) {
+	}
+
+}
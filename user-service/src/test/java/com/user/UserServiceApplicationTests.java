@@ -3,7 +3,8 @@ package com.user;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+// Any valid 256-bit key; the context creates and encrypts its own signing keys
+@SpringBootTest(properties = "keyring.encryption-key=AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA=")
 class UserServiceApplicationTests {
 
 	@Test
@@ -0,0 +1,252 @@
+package com.user.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.user.dto.RefreshTokenRequestDTO;
+import com.user.entity.User;
+import com.user.service.UserCache;
+import com.user.service.UserService;
+import com.user.service.UserServiceImpl;
+import com.user.token.RefreshToken;
+import com.user.token.service.ActiveRefreshTokenCache;
+import com.user.token.service.JWTService;
+import com.user.token.service.RefreshTokenService;
+import com.user.token.service.RefreshTokenServiceImpl;
+import com.user.token.service.TokenRevocationService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// A refresh token rotates at most once, and deactivation ends refreshing
+@DataJpaTest(properties = { "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+		"spring.sql.init.mode=never" })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ RefreshTokenServiceImpl.class, UserServiceImpl.class, UserCache.class, ActiveRefreshTokenCache.class,
+		RefreshTokenRotationTests.Config.class })
+class RefreshTokenRotationTests {
+
+	private static final int THREADS = 16;
+
+	@Autowired
+	private RefreshTokenRepository refreshTokenRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private RefreshTokenService refreshTokenService;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private UserCache userCache;
+
+	private User user;
+
+	@BeforeEach
+	void setUp() {
+		user = userRepository.save(User.builder().email("rotation@example.com").password("password123")
+				.firstName("Rotation").phoneNumber("9999999999").status("Active").build());
+	}
+
+	@AfterEach
+	void tearDown() {
+		refreshTokenRepository.deleteAll();
+		userRepository.deleteAll();
+	}
+
+	@Test
+	void concurrentRefreshesWithTheSameTokenHaveExactlyOneWinner() throws Exception {
+		RefreshToken token = refreshTokenService.createRefreshToken(user.getEmail());
+
+		// 1 for a refresh that returned new tokens, 0 for one that was refused; anything else fails the test
+		List<Integer> results = race(THREADS, i -> {
+			try {
+				refreshTokenService.getNewTokens(request(token.getToken()));
+				return 1;
+			} catch (RuntimeException e) {
+				if (e.getMessage() == null || !e.getMessage().startsWith("Invalid refresh token")) {
+					throw e;
+				}
+				return 0;
+			}
+		});
+
+		assertThat(results).filteredOn(result -> result == 1).hasSize(1);
+		assertThat(results).filteredOn(result -> result == 0).hasSize(THREADS - 1);
+		assertThat(refreshTokenRepository.findByTokenHash(token.getTokenHash())).get()
+				.extracting(RefreshToken::getStatus).isEqualTo("i");
+		assertThat(refreshTokenRepository.findAll()).filteredOn(saved -> "a".equals(saved.getStatus())).hasSize(1);
+	}
+
+	@Test
+	void expiredOrRotatedTokensNeverWin() {
+		String expired = save(Instant.now().minusSeconds(1)).getTokenHash();
+		String active = save(Instant.now().plus(Duration.ofMinutes(10))).getTokenHash();
+
+		assertThat(refreshTokenRepository.invalidateIfActive(expired, Instant.now())).isZero();
+		assertThat(refreshTokenRepository.invalidateIfActive(active, Instant.now())).isEqualTo(1);
+		assertThat(refreshTokenRepository.invalidateIfActive(active, Instant.now())).isZero();
+	}
+
+	@Test
+	void deactivationRevokesEveryRefreshToken() {
+		RefreshToken first = refreshTokenService.createRefreshToken(user.getEmail());
+		RefreshToken second = refreshTokenService.createRefreshToken(user.getEmail());
+
+		userService.deactivateUser(user.getUserId());
+
+		assertThatThrownBy(() -> refreshTokenService.getNewTokens(request(first.getToken())))
+				.hasMessageContaining("Invalid refresh token");
+		assertThatThrownBy(() -> refreshTokenService.getNewTokens(request(second.getToken())))
+				.hasMessageContaining("Invalid refresh token");
+		assertThat(refreshTokenRepository.findAll()).extracting(RefreshToken::getStatus).containsOnly("i");
+	}
+
+	@Test
+	void inactiveUserCannotRefreshAStillActiveToken() {
+		RefreshToken token = refreshTokenService.createRefreshToken(user.getEmail());
+		// Deactivated, but the token has not been revoked yet
+		user.setStatus("Inactive");
+		userRepository.save(user);
+		userCache.evict(user.getUserId(), user.getEmail());
+
+		assertThatThrownBy(() -> refreshTokenService.getNewTokens(request(token.getToken())))
+				.hasMessage("Invalid refresh token: User is not active.");
+		assertThat(refreshTokenRepository.count()).isEqualTo(1);
+	}
+
+	@Test
+	void distinctTokensAllRotateUnderContention() throws Exception {
+		int rotationsPerThread = 10;
+		List<String> hashes = new ArrayList<>();
+		for (int i = 0; i < THREADS * rotationsPerThread; i++) {
+			hashes.add(save(Instant.now().plus(Duration.ofMinutes(10))).getTokenHash());
+		}
+
+		List<Integer> won = race(THREADS, thread -> {
+			int count = 0;
+			for (int i = 0; i < rotationsPerThread; i++) {
+				count += refreshTokenRepository.invalidateIfActive(hashes.get(thread * rotationsPerThread + i),
+						Instant.now());
+			}
+			return count;
+		});
+
+		assertThat(won.stream().mapToInt(Integer::intValue).sum()).isEqualTo(hashes.size());
+	}
+
+	private RefreshToken save(Instant expiryDate) {
+		String token = UUID.randomUUID().toString();
+		return refreshTokenRepository.save(RefreshToken.builder().userInfo(user).tokenHash(RefreshToken.hash(token))
+				.expiryDate(expiryDate).status("a").build());
+	}
+
+	private static RefreshTokenRequestDTO request(String token) {
+		RefreshTokenRequestDTO request = new RefreshTokenRequestDTO();
+		request.setRefreshToken(token);
+		return request;
+	}
+
+	// Releases all threads together so their statements overlap as much as possible
+	private static List<Integer> race(int threads, ThreadTask task) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		CountDownLatch start = new CountDownLatch(1);
+		try {
+			List<Future<Integer>> futures = new ArrayList<>();
+			for (int i = 0; i < threads; i++) {
+				int thread = i;
+				futures.add(executor.submit(() -> {
+					start.await();
+					return task.run(thread);
+				}));
+			}
+			start.countDown();
+			List<Integer> results = new ArrayList<>();
+			for (Future<Integer> future : futures) {
+				results.add(future.get());
+			}
+			return results;
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@FunctionalInterface
+	private interface ThreadTask {
+		int run(int thread) throws Exception;
+	}
+
+	@TestConfiguration
+	static class Config {
+
+		@Bean
+		ModelMapper modelMapper() {
+			return new ModelMapper();
+		}
+
+		@Bean
+		MeterRegistry meterRegistry() {
+			return new SimpleMeterRegistry();
+		}
+
+		@Bean
+		ObjectMapper objectMapper() {
+			return new ObjectMapper();
+		}
+
+		@Bean
+		JWTService jwtService() {
+			return mock(JWTService.class);
+		}
+
+		@Bean
+		TokenRevocationService tokenRevocationService() {
+			return mock(TokenRevocationService.class);
+		}
+
+		@Bean
+		AuthenticationManager authenticationManager() {
+			return mock(AuthenticationManager.class);
+		}
+
+		@Bean
+		BCryptPasswordEncoder passwordEncoder() {
+			return new BCryptPasswordEncoder(4);
+		}
+
+		@Bean
+		UserListingRepository userListingRepository() {
+			return mock(UserListingRepository.class);
+		}
+	}
+
+}
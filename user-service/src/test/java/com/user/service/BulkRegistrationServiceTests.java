@@ -0,0 +1,126 @@
+package com.user.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import com.user.dto.BulkRegisterResponseDTO;
+import com.user.dto.BulkRegisterResultDTO;
+import com.user.dto.BulkRegisterResultDTO.Status;
+import com.user.dto.UserRegisterDTO;
+import com.user.repository.UserRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// A bad record fails alone and keeps its position; every good record is registered
+@DataJpaTest(properties = { "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+		"spring.sql.init.mode=never", "spring.jpa.properties.hibernate.jdbc.batch_size=100",
+		"spring.jpa.properties.hibernate.order_inserts=true", "user-bulk.batch-size=100" })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ BulkRegistrationService.class, BulkRegistrationServiceTests.Config.class })
+class BulkRegistrationServiceTests {
+
+	@Autowired
+	private BulkRegistrationService bulkRegistrationService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@AfterEach
+	void tearDown() {
+		userRepository.deleteAll();
+	}
+
+	@Test
+	void invalidAndDuplicateRecordsFailAloneAndKeepTheirPosition() {
+		bulkRegistrationService.registerAll(List.of(user(0)).iterator());
+
+		List<UserRegisterDTO> records = new ArrayList<>();
+		records.add(user(1));
+		records.add(user(0)); // already stored
+		UserRegisterDTO invalid = user(2);
+		invalid.setPassword("short");
+		records.add(invalid);
+		records.add(user(3));
+		records.add(user(3)); // repeated in the request
+		UserRegisterDTO phoneTaken = user(4);
+		phoneTaken.setPhoneNumber(user(1).getPhoneNumber()); // only the database catches this one
+		records.add(phoneTaken);
+
+		BulkRegisterResponseDTO response = bulkRegistrationService.registerAll(records.iterator());
+
+		assertThat(response.getResults()).extracting(BulkRegisterResultDTO::getIndex).containsExactly(0, 1, 2, 3, 4,
+				5);
+		assertThat(response.getResults()).extracting(BulkRegisterResultDTO::getStatus).containsExactly(
+				Status.CREATED, Status.DUPLICATE, Status.INVALID, Status.CREATED, Status.DUPLICATE, Status.DUPLICATE);
+		assertThat(response.getResults().get(2).getError()).contains("password");
+		assertThat(response.getCreated()).isEqualTo(2);
+		assertThat(response.getRejected()).isEqualTo(4);
+		assertThat(userRepository.count()).isEqualTo(3);
+	}
+
+	@Test
+	void everyRecordOfAMultiBatchRequestIsRegistered() {
+		int count = 250;
+		List<UserRegisterDTO> records = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			records.add(user(i));
+		}
+
+		BulkRegisterResponseDTO response = bulkRegistrationService.registerAll(records.iterator());
+
+		assertThat(response.getCreated()).isEqualTo(count);
+		assertThat(response.getResults()).allSatisfy(result -> assertThat(result.getUserId()).isPositive());
+		assertThat(userRepository.count()).isEqualTo(count);
+	}
+
+	private static UserRegisterDTO user(int i) {
+		return UserRegisterDTO.builder().firstName("Bulk").lastName("User" + i).email("bulk" + i + "@example.com")
+				.password("password123").phoneNumber(String.format("9%09d", i)).role("USER").build();
+	}
+
+	@TestConfiguration
+	static class Config {
+
+		@Bean
+		ModelMapper modelMapper() {
+			return new ModelMapper();
+		}
+
+		@Bean
+		BCryptPasswordEncoder passwordEncoder() {
+			return new BCryptPasswordEncoder(4);
+		}
+
+		@Bean
+		PasswordHashingExecutor bulkPasswordHashingExecutor() {
+			return new PasswordHashingExecutor(PasswordHashingExecutor.defaultThreads(), 100);
+		}
+
+		@Bean
+		LocalValidatorFactoryBean validator() {
+			return new LocalValidatorFactoryBean();
+		}
+
+		@Bean
+		MeterRegistry meterRegistry() {
+			return new SimpleMeterRegistry();
+		}
+	}
+
+}
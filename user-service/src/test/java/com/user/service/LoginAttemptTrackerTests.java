@@ -0,0 +1,101 @@
+package com.user.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.user.repository.LoginAttemptRepository;
+import com.user.repository.LoginAttemptRepository.LockState;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// Simulates credential stuffing against a handful of accounts: every attempt has a wrong password and
+// the attacker rotates client IPs so only the per-email limit applies. CredentialStuffingBenchmark
+// measures the CPU this saves.
+class LoginAttemptTrackerTests {
+
+	private static final int ACCOUNTS = 20;
+	private static final int ATTEMPTS_PER_ACCOUNT = 50;
+	private static final int IPS = 100;
+	private static final int MAX_PER_EMAIL = 5;
+
+	private final BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(6);
+	private final String storedHash = encoder.encode("correct-password");
+
+	private LoginAttemptRepository repository;
+	private LoginAttemptTracker tracker;
+
+	@BeforeEach
+	void setUp() {
+		repository = mock(LoginAttemptRepository.class);
+		UserCache userCache = mock(UserCache.class);
+		when(userCache.findByEmail(anyString())).thenReturn(Optional.empty());
+		tracker = new LoginAttemptTracker(repository, userCache, new SimpleMeterRegistry(), Duration.ofMinutes(15),
+				MAX_PER_EMAIL, 50, Duration.ofMinutes(15), 10_000);
+	}
+
+	@Test
+	void stuffingAttackIsRefusedBeforeHashing() {
+		int hashed = attack();
+
+		assertThat(hashed).isEqualTo(ACCOUNTS * MAX_PER_EMAIL);
+		assertThat(tracker.isBlocked("victim0@example.com", "10.0.99.1")).isTrue();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void lockStatesAreFlushedAsOneBatch() {
+		attack();
+
+		tracker.flush();
+
+		ArgumentCaptor<List<LockState>> batch = ArgumentCaptor.forClass(List.class);
+		verify(repository).updateLockStates(batch.capture());
+		assertThat(batch.getValue()).hasSize(ACCOUNTS).allSatisfy(state -> {
+			assertThat(state.locked()).isTrue();
+			assertThat(state.failedAttempts()).isEqualTo(MAX_PER_EMAIL);
+		});
+	}
+
+	@Test
+	void successfulLoginClearsTheWindow() {
+		for (int i = 0; i < MAX_PER_EMAIL - 1; i++) {
+			tracker.recordFailure("user@example.com", "10.0.0.1");
+		}
+		tracker.recordSuccess("user@example.com");
+		tracker.recordFailure("user@example.com", "10.0.0.1");
+
+		assertThat(tracker.isBlocked("user@example.com", "10.0.0.1")).isFalse();
+	}
+
+	// Returns how many attempts reached the password check
+	private int attack() {
+		int hashed = 0;
+		for (int attempt = 0; attempt < ATTEMPTS_PER_ACCOUNT; attempt++) {
+			for (int account = 0; account < ACCOUNTS; account++) {
+				String email = "victim" + account + "@example.com";
+				String ip = "10.0." + (attempt * ACCOUNTS + account) % IPS + ".1";
+				if (tracker.isBlocked(email, ip)) {
+					continue;
+				}
+				hashed++;
+				if (!encoder.matches("guess-" + attempt, storedHash)) {
+					tracker.recordFailure(email, ip);
+				}
+			}
+		}
+		return hashed;
+	}
+
+}
@@ -0,0 +1,56 @@
+package com.user.token;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+
+// A stored private key only decrypts under the key and kid it was written with
+class SigningKeyCipherTests {
+
+	private static final byte[] PRIVATE_KEY = "pkcs8-bytes".getBytes(StandardCharsets.UTF_8);
+
+	private final SigningKeyCipher cipher = new SigningKeyCipher(randomKey());
+
+	@Test
+	void storedValueIsNotThePlainKeyAndDecryptsBack() throws Exception {
+		String stored = cipher.encrypt("kid-1", PRIVATE_KEY);
+
+		assertThat(new String(Base64.getDecoder().decode(stored), StandardCharsets.ISO_8859_1))
+				.doesNotContain("pkcs8-bytes");
+		assertThat(cipher.decrypt("kid-1", stored)).isEqualTo(PRIVATE_KEY);
+		assertThat(cipher.encrypt("kid-1", PRIVATE_KEY)).isNotEqualTo(stored);
+	}
+
+	@Test
+	void valueMovedToAnotherKidDoesNotDecrypt() {
+		String stored = cipher.encrypt("kid-1", PRIVATE_KEY);
+
+		assertThatThrownBy(() -> cipher.decrypt("kid-2", stored)).isInstanceOf(GeneralSecurityException.class);
+	}
+
+	@Test
+	void valueWrittenUnderAnotherKeyDoesNotDecrypt() {
+		String stored = new SigningKeyCipher(randomKey()).encrypt("kid-1", PRIVATE_KEY);
+
+		assertThatThrownBy(() -> cipher.decrypt("kid-1", stored)).isInstanceOf(GeneralSecurityException.class);
+	}
+
+	@Test
+	void keyMustBe256Bits() {
+		assertThatThrownBy(() -> new SigningKeyCipher(Base64.getEncoder().encodeToString(new byte[16])))
+				.isInstanceOf(IllegalStateException.class);
+	}
+
+	private static String randomKey() {
+		byte[] key = new byte[32];
+		new SecureRandom().nextBytes(key);
+		return Base64.getEncoder().encodeToString(key);
+	}
+
+}
@@ -0,0 +1,46 @@
+package com.user.token.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.jupiter.api.Test;
+
+// The filter may only err towards "might contain", and at its sized capacity about as often as configured
+class RevocationFilterTests {
+
+	private static final int ENTRIES = 10_000;
+	private static final double FALSE_POSITIVE_RATE = 0.01;
+
+	@Test
+	void everyAddedKeyIsFound() {
+		RevocationFilter filter = filled();
+
+		for (int i = 0; i < ENTRIES; i++) {
+			assertThat(filter.mightContain("jti:token-" + i)).as("jti:token-%d", i).isTrue();
+		}
+	}
+
+	@Test
+	void falsePositiveRateAtExpectedEntriesIsNearTheConfiguredRate() {
+		RevocationFilter filter = filled();
+		int probes = 100_000;
+		int falsePositives = 0;
+		for (int i = 0; i < probes; i++) {
+			if (filter.mightContain("jti:other-" + i)) {
+				falsePositives++;
+			}
+		}
+
+		assertThat((double) falsePositives / probes).isCloseTo(FALSE_POSITIVE_RATE, within(0.005));
+		assertThat(filter.expectedFalsePositiveRate()).isCloseTo(FALSE_POSITIVE_RATE, within(0.002));
+	}
+
+	private static RevocationFilter filled() {
+		RevocationFilter filter = RevocationFilter.create(ENTRIES, FALSE_POSITIVE_RATE);
+		for (int i = 0; i < ENTRIES; i++) {
+			filter.add("jti:token-" + i);
+		}
+		return filter;
+	}
+
+}
@@ -0,0 +1,98 @@
+package com.user.token.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.user.repository.TokenRevocationRepository;
+import com.user.token.TokenRevocation;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// Revocation checks against a mocked token_revocation table
+class TokenRevocationServiceTests {
+
+	private static final Duration POLL_OVERLAP = Duration.ofSeconds(10);
+
+	private TokenRevocationRepository repository;
+	private SimpleMeterRegistry meterRegistry;
+	private TokenRevocationService service;
+
+	@BeforeEach
+	void setUp() {
+		repository = mock(TokenRevocationRepository.class);
+		when(repository.save(any(TokenRevocation.class))).thenAnswer(invocation -> invocation.getArgument(0));
+		meterRegistry = new SimpleMeterRegistry();
+		service = new TokenRevocationService(repository, meterRegistry, 1_000, 0.001, POLL_OVERLAP);
+	}
+
+	@Test
+	void subjectRevocationCoversTokensIssuedUpToItsSecond() {
+		service.revokeSubject("alice@example.com");
+		ArgumentCaptor<TokenRevocation> saved = ArgumentCaptor.forClass(TokenRevocation.class);
+		verify(repository).save(saved.capture());
+		Instant revokedAt = saved.getValue().getRevokedAt();
+
+		assertThat(service.isRevoked("any", "alice@example.com", Date.from(revokedAt.minusSeconds(60)))).isTrue();
+		assertThat(service.isRevoked("any", "alice@example.com", Date.from(revokedAt))).isTrue();
+		assertThat(service.isRevoked("any", "alice@example.com", Date.from(revokedAt.plusSeconds(1)))).isFalse();
+		assertThat(service.isRevoked("any", "bob@example.com", Date.from(revokedAt))).isFalse();
+	}
+
+	@Test
+	void pollOverlapReappliesRowsWithoutChangingThem() {
+		Instant now = Instant.now();
+		TokenRevocation later = row("sub:alice@example.com", now.minusSeconds(5), now.plusSeconds(300));
+		TokenRevocation earlier = row("sub:alice@example.com", now.minusSeconds(60), now.plusSeconds(300));
+		TokenRevocation token = row("jti:token-1", now.minusSeconds(5), now.plusSeconds(300));
+		when(repository.findByRevokedAtAfterAndExpiresAtAfter(any(Instant.class), any(Instant.class)))
+				.thenReturn(List.of(later, token), List.of(earlier, later, token));
+
+		service.poll();
+		service.poll();
+
+		ArgumentCaptor<Instant> since = ArgumentCaptor.forClass(Instant.class);
+		verify(repository, times(2)).findByRevokedAtAfterAndExpiresAtAfter(since.capture(), any(Instant.class));
+		assertThat(since.getAllValues().get(0)).isEqualTo(Instant.EPOCH);
+		assertThat(since.getAllValues().get(1)).isBefore(Instant.now().minus(POLL_OVERLAP).plusSeconds(1));
+		assertThat(meterRegistry.get("token.revocation.entries").gauge().value()).isEqualTo(2);
+		// The older row read again in the overlap does not move the subject's cutoff back
+		assertThat(service.isRevoked(null, "alice@example.com", Date.from(now.minusSeconds(30)))).isTrue();
+		assertThat(service.isRevoked("token-1", null, null)).isTrue();
+	}
+
+	@Test
+	void pruneDropsExpiredKeysAndKeepsLiveOnesInTheRebuiltFilter() {
+		Instant now = Instant.now();
+		when(repository.findByRevokedAtAfterAndExpiresAtAfter(any(Instant.class), any(Instant.class)))
+				.thenReturn(List.of(row("jti:expired", now.minusSeconds(600), now.minusSeconds(1)),
+						row("jti:live", now.minusSeconds(5), now.plusSeconds(300))));
+		service.poll();
+
+		service.prune();
+
+		assertThat(meterRegistry.get("token.revocation.entries").gauge().value()).isEqualTo(1);
+		assertThat(service.isRevoked("live", null, null)).isTrue();
+		assertThat(service.isRevoked("expired", null, null)).isFalse();
+		// Answered by the rebuilt filter alone, without a lookup in the exact map
+		assertThat(meterRegistry.counter("token.revocation.checks", "result", "absent").count()).isEqualTo(1);
+		verify(repository).deleteExpired(any(Instant.class));
+	}
+
+	private static TokenRevocation row(String key, Instant revokedAt, Instant expiresAt) {
+		return TokenRevocation.builder().revocationKey(key).revokedAt(revokedAt).expiresAt(expiresAt).build();
+	}
+
+}